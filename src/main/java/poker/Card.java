@@ -8,6 +8,21 @@ import java.util.Objects;
  * A card in a deck. A card is represented by its face value and suit.
  */
 public class Card implements Comparable<Card> {
+    /** The number of cards in a deck. */
+    static final int DECK_SIZE = FaceValue.values().length * Suit.values().length;
+
+    /** All cards in a deck, indexed by card id. */
+    private static final Card[] DECK = new Card[DECK_SIZE];
+
+    static {
+        for (Suit suit : Suit.values()) {
+            for (FaceValue faceValue : FaceValue.values()) {
+                Card card = new Card(faceValue, suit);
+                DECK[card.id()] = card;
+            }
+        }
+    }
+
     /** The face value. */
     final FaceValue faceValue;
     /** The suit. */
@@ -22,6 +37,55 @@ public class Card implements Comparable<Card> {
         return faceValue;
     }
 
+    /**
+     * Get the id of this card, a number in the range [0, DECK_SIZE). Cards are grouped by suit, so the face values of
+     * a suit occupy consecutive ids in face value order. The id is also the card's bit position in a card mask.
+     *
+     * @return the card id
+     */
+    int id() {
+        return suit.ordinal() * FaceValue.values().length + faceValue.ordinal();
+    }
+
+    /**
+     * Get the card with an id.
+     *
+     * @param id the card id
+     * @return the card
+     */
+    static Card fromId(int id) {
+        return DECK[id];
+    }
+
+    /**
+     * Create a mask of cards, where each card sets the bit at its id.
+     *
+     * @param cards the cards
+     * @return the card mask
+     */
+    static long mask(Card... cards) {
+        long mask = 0;
+        for (Card card : cards) {
+            mask |= 1L << card.id();
+        }
+        return mask;
+    }
+
+    /**
+     * Get the cards in a card mask.
+     *
+     * @param cardMask the card mask
+     * @return the cards, in order of card id
+     */
+    static Card[] fromMask(long cardMask) {
+        Card[] cards = new Card[Long.bitCount(cardMask)];
+        for (int i = 0; i < cards.length; i++) {
+            cards[i] = fromId(Long.numberOfTrailingZeros(cardMask));
+            cardMask &= cardMask - 1;
+        }
+        return cards;
+    }
+
     @JsonCreator
     Card(String jsonData) {
         this(FaceValue.fromJson(jsonData.substring(0, jsonData.length() - 1)),
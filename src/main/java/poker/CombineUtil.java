@@ -3,6 +3,7 @@ package poker;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.function.LongConsumer;
 import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
@@ -27,6 +28,120 @@ public enum CombineUtil {
             index -> combinations(list.subList(index + 1, list.size()), size - 1).map(tail -> join(list.get(index), tail)));
     }
 
+    /**
+     * Call a consumer with every combination of size bits from a mask, in lexicographic order of bit positions.
+     * This is the primitive version of {@link #combinations(List, int)}, for card masks.
+     *
+     * @param mask the bits to generate combinations of
+     * @param size the number of bits in each combination
+     * @param consumer called with each combination, as a mask
+     */
+    public static void forEachCombination(long mask, int size, LongConsumer consumer) {
+        int[] bits = new int[Long.bitCount(mask)];
+        for (int i = 0; i < bits.length; i++) {
+            bits[i] = Long.numberOfTrailingZeros(mask);
+            mask &= mask - 1;
+        }
+        forEachCombination(bits, 0, size, 0, consumer);
+    }
+
+    /**
+     * Call a consumer with every combination of size bits from bits[start..], each added to a prefix mask.
+     */
+    private static void forEachCombination(int[] bits, int start, int size, long prefix, LongConsumer consumer) {
+        if (size == 0) {
+            consumer.accept(prefix);
+            return;
+        }
+        for (int i = start; i <= bits.length - size; i++) {
+            forEachCombination(bits, i + 1, size - 1, prefix | (1L << bits[i]), consumer);
+        }
+    }
+
+    /**
+     * Compute the binomial coefficient, the number of combinations of size elements from n elements.
+     *
+     * @param n the number of elements
+     * @param size the number of elements in each combination
+     * @return the number of combinations, or 0 if size is out of range
+     * @throws ArithmeticException if the number of combinations doesn't fit in a long
+     */
+    public static long binomial(int n, int size) {
+        if (size < 0 || size > n) {
+            return 0;
+        }
+        long result = 1;
+        for (int i = 1; i <= Math.min(size, n - size); i++) {
+            // result * (n - i + 1) is divisible by i; divide by their common factors first, so it doesn't overflow.
+            long gcd = gcd(result, i);
+            result = Math.multiplyExact(result / gcd, (n - i + 1) / (i / gcd));
+        }
+        return result;
+    }
+
+    private static long gcd(long a, long b) {
+        while (b != 0) {
+            long remainder = a % b;
+            a = b;
+            b = remainder;
+        }
+        return a;
+    }
+
+    /**
+     * Get the rank of a combination in the combinatorial number system. With the combination's bits in increasing
+     * order c1 &lt; c2 &lt; ... &lt; ck, the rank is C(c1, 1) + C(c2, 2) + ... + C(ck, k). Ranks are dense: the
+     * combinations of size k from n elements have the ranks [0, C(n, k)), in increasing order of their masks.
+     *
+     * @param combination the combination, as a mask
+     * @return the rank
+     */
+    public static long rank(long combination) {
+        long rank = 0;
+        for (int k = 1; combination != 0; k++) {
+            rank += binomial(Long.numberOfTrailingZeros(combination), k);
+            combination &= combination - 1;
+        }
+        return rank;
+    }
+
+    /**
+     * Get the combination with a rank in the combinatorial number system; the inverse of {@link #rank(long)}.
+     *
+     * @param rank the rank
+     * @param size the number of elements in the combination
+     * @return the combination, as a mask
+     */
+    public static long unrank(long rank, int size) {
+        long combination = 0;
+        for (int k = size; k > 0; k--) {
+            // Find the highest element whose binomial coefficient fits in the remaining rank.
+            int element = k - 1;
+            while (binomial(element + 1, k) <= rank) {
+                element++;
+            }
+            combination |= 1L << element;
+            rank -= binomial(element, k);
+        }
+        return combination;
+    }
+
+    /**
+     * Get the combination with the next rank: the next higher mask with the same number of bits. The empty
+     * combination is the only combination of no elements, and has no next combination; it is returned unchanged.
+     *
+     * @param combination the combination, as a mask
+     * @return the next combination
+     */
+    public static long nextCombination(long combination) {
+        if (combination == 0) {
+            return 0;
+        }
+        long lowest = combination & -combination;
+        long ripple = combination + lowest;
+        return ripple | (((combination ^ ripple) >>> 2) / lowest);
+    }
+
     /**
      * Given a list head and a list tail, create a new list.
      */
@@ -0,0 +1,129 @@
+package poker;
+
+import java.util.SplittableRandom;
+
+/**
+ * A deck of card ids that can be shuffled and dealt from without allocation. Cards are dealt as ids or card masks,
+ * the inputs of {@link HandEvaluator} and {@link SevenCardTable}.
+ * <p>
+ * A deck is not thread safe. Use {@link #split()} to create an independent deck for each thread; decks split in the
+ * same order from decks with the same seed deal the same cards.
+ */
+// Shuffling is a lazy Fisher-Yates: each deal swaps a random undealt card into the next position, so only the cards
+// actually dealt are shuffled. The dealt cards stay in the array, which is always a permutation of the live cards,
+// so a new shuffle only needs to mark every card as undealt again.
+public class Deck {
+    /** The live (not dead) card ids. The first dealt cards have been dealt. */
+    private final int[] cards = new int[Card.DECK_SIZE];
+
+    /** A mask of the cards in a full deck. */
+    private final long fullDeck;
+
+    /** The random number source. */
+    private final SplittableRandom random;
+
+    /** The number of live cards. */
+    private int size;
+
+    /** The number of cards dealt since the last shuffle. */
+    private int dealt;
+
+    /**
+     * Create a full deck.
+     *
+     * @param seed the random seed
+     */
+    public Deck(long seed) {
+        this(Variant.HOLDEM, seed);
+    }
+
+    /**
+     * Create a full deck for a variant.
+     *
+     * @param variant the variant, which determines the cards in the deck
+     * @param seed the random seed
+     */
+    public Deck(Variant variant, long seed) {
+        this(variant.deck(), new SplittableRandom(seed));
+    }
+
+    private Deck(long fullDeck, SplittableRandom random) {
+        this.fullDeck = fullDeck;
+        this.random = random;
+        reset(0);
+    }
+
+    /**
+     * Create a new full deck with its own random number source, split from this deck's source.
+     *
+     * @return the new deck
+     */
+    public Deck split() {
+        return new Deck(fullDeck, random.split());
+    }
+
+    /**
+     * Rebuild the deck without the dead cards, e.g. cards already known to be held or on the board. The deck is
+     * shuffled.
+     *
+     * @param deadCards a mask of cards to remove from the deck
+     */
+    public void reset(long deadCards) {
+        size = 0;
+        for (int id = 0; id < Card.DECK_SIZE; id++) {
+            if ((fullDeck & ~deadCards & (1L << id)) != 0) {
+                cards[size++] = id;
+            }
+        }
+        dealt = 0;
+    }
+
+    /**
+     * Return every dealt card to the deck and shuffle it.
+     */
+    public void shuffle() {
+        dealt = 0;
+    }
+
+    /**
+     * Get the number of cards left to deal.
+     *
+     * @return the number of cards left
+     */
+    public int remaining() {
+        return size - dealt;
+    }
+
+    /**
+     * Deal a card.
+     *
+     * @return the id of the card
+     */
+    public int deal() {
+        if (dealt == size) {
+            throw new IllegalStateException("No cards left in the deck");
+        }
+        int swap = dealt + random.nextInt(size - dealt);
+        int card = cards[swap];
+        cards[swap] = cards[dealt];
+        cards[dealt++] = card;
+        return card;
+    }
+
+    /**
+     * Deal a number of cards.
+     *
+     * @param numCards the number of cards to deal
+     * @return a mask of the cards dealt
+     */
+    public long deal(int numCards) {
+        if (numCards > remaining()) {
+            throw new IllegalStateException("Can't deal " + numCards + " cards, only " + remaining() + " left");
+        }
+        long cardMask = 0;
+        for (int i = 0; i < numCards; i++) {
+            cardMask |= 1L << deal();
+        }
+        return cardMask;
+    }
+}
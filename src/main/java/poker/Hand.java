@@ -16,6 +16,9 @@ public class Hand implements Comparable<Hand> {
     /** The size of a hand. */
     static final int HAND_SIZE = 5;
 
+    /** Parses hands from JSON. An ObjectMapper is expensive to create, and thread safe once configured. */
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
     /** The cards in a hand. */
     private final Card[] cards;
 
@@ -32,8 +35,7 @@ public class Hand implements Comparable<Hand> {
     }
 
     static Hand fromJsonArray(String jsonArray) throws IOException {
-        ObjectMapper objectMapper = new ObjectMapper();
-        return new Hand(objectMapper.readValue(jsonArray, Card[].class));
+        return new Hand(OBJECT_MAPPER.readValue(jsonArray, Card[].class));
     }
 
     /**
@@ -200,8 +202,13 @@ public class Hand implements Comparable<Hand> {
      * @return the best hand.
      */
     static Hand findBestHand(Hand... hands) {
-        Arrays.sort(hands);
-        // Best hand is the last one in the list.
-        return hands[hands.length - 1];
+        // If more than one hand is best, the last one wins.
+        Hand bestHand = hands[0];
+        for (Hand hand : hands) {
+            if (hand.compareTo(bestHand) >= 0) {
+                bestHand = hand;
+            }
+        }
+        return bestHand;
     }
 }
@@ -0,0 +1,348 @@
+package poker;
+
+import java.util.Arrays;
+
+/**
+ * A primitive hand evaluator for the rules of a {@link Variant}. Hands are given as card masks (see
+ * {@link Card#mask(Card...)}), and are scored as the best 5 card hand that can be made from the 5 to 7 cards in the
+ * mask, without creating any Hand or Card objects.
+ */
+// A hand is first scored as a key: the value of the hand category in the high bits, followed by up to five face
+// value ordinals of 4 bits each, in decreasing order of weight. Keys order hands correctly, but are sparse, so the
+// key is mapped to its position in the sorted list of every key a 5 card hand can produce. This is the hand's
+// strength, a dense value in the range [1, numStrengths()] that fits in 16 bits. The straights, the order of the
+// categories and the sorted keys are all computed once per variant, so every variant evaluates the same way.
+public final class HandEvaluator {
+    /** Hand categories. Their value depends on the variant; this is their order in hold'em. */
+    static final int HIGH_CARD = 0;
+    static final int ONE_PAIR = 1;
+    static final int TWO_PAIR = 2;
+    static final int THREE_OF_A_KIND = 3;
+    static final int STRAIGHT = 4;
+    static final int FLUSH = 5;
+    static final int FULL_HOUSE = 6;
+    static final int FOUR_OF_A_KIND = 7;
+    static final int STRAIGHT_FLUSH = 8;
+
+    /** The number of face values in a suit. */
+    private static final int NUM_FACE_VALUES = FaceValue.values().length;
+
+    /** Mask of the face value bits of a single suit. */
+    private static final int FACE_VALUE_MASK = (1 << NUM_FACE_VALUES) - 1;
+
+    /** The bit position of the category value in a key. */
+    private static final int CATEGORY_SHIFT = 20;
+
+    /** The face value masks of each straight, from the highest straight down to the lowest, where the ace is low. */
+    private final int[] straights;
+
+    /** The high card face value ordinal of each straight. */
+    private final int[] straightHighCards;
+
+    /** The value of each category; a higher value beats a lower one. */
+    private final int[] categoryValues;
+
+    /** The category of each category value. */
+    private final int[] categories;
+
+    /** Every key a 5 card hand can produce, in increasing order. */
+    private final int[] keys;
+
+    /**
+     * Create an evaluator.
+     *
+     * @param faceValues the face values in the deck, in increasing order
+     * @param categoryOrder the hand categories, in increasing order of value
+     */
+    HandEvaluator(FaceValue[] faceValues, int[] categoryOrder) {
+        straights = new int[faceValues.length - 3];
+        straightHighCards = new int[straights.length];
+        for (int high = 4; high < faceValues.length; high++) {
+            int straight = 0;
+            for (int i = high - 4; i <= high; i++) {
+                straight |= 1 << faceValues[i].ordinal();
+            }
+            straights[faceValues.length - 1 - high] = straight;
+            straightHighCards[faceValues.length - 1 - high] = faceValues[high].ordinal();
+        }
+        // The ace plays low in the lowest straight.
+        straights[straights.length - 1] = (1 << FaceValue.ACE.ordinal()) | (1 << faceValues[0].ordinal())
+            | (1 << faceValues[1].ordinal()) | (1 << faceValues[2].ordinal()) | (1 << faceValues[3].ordinal());
+        straightHighCards[straights.length - 1] = faceValues[3].ordinal();
+
+        categories = categoryOrder.clone();
+        categoryValues = new int[categoryOrder.length];
+        for (int value = 0; value < categoryOrder.length; value++) {
+            categoryValues[categoryOrder[value]] = value;
+        }
+        keys = createKeys(faceValues);
+    }
+
+    /**
+     * Get the number of distinct hand strengths.
+     *
+     * @return the number of strengths
+     */
+    int numStrengths() {
+        return keys.length;
+    }
+
+    /**
+     * Evaluate the best 5 card hand in a card mask.
+     *
+     * @param cardMask a mask of 5 to 7 cards
+     * @return the hand strength, higher is better
+     */
+    int evaluate(long cardMask) {
+        return Arrays.binarySearch(keys, key(cardMask)) + 1;
+    }
+
+    /**
+     * Get the category of a hand strength, e.g. {@link #FLUSH}.
+     *
+     * @param strength the hand strength
+     * @return the hand category
+     */
+    int category(int strength) {
+        return categories[keys[strength - 1] >>> CATEGORY_SHIFT];
+    }
+
+    /**
+     * Get the value of a hand category in this variant, e.g. {@link #FLUSH} has a higher value than
+     * {@link #FULL_HOUSE} in short deck.
+     *
+     * @param category the hand category
+     * @return the category value; a higher value beats a lower one
+     */
+    int categoryValue(int category) {
+        return categoryValues[category];
+    }
+
+    /**
+     * Get the poker hand rank of a hand strength.
+     *
+     * @param strength the hand strength
+     * @return the poker hand rank
+     */
+    PokerHandRank rankOf(int strength) {
+        int key = keys[strength - 1];
+        switch (category(strength)) {
+            case STRAIGHT_FLUSH:
+                return highCard(key) == FaceValue.ACE.ordinal()
+                    ? PokerHandRank.ROYAL_FLUSH : PokerHandRank.STRAIGHT_FLUSH;
+            case FOUR_OF_A_KIND:
+                return PokerHandRank.FOUR_OF_A_KIND;
+            case FULL_HOUSE:
+                return PokerHandRank.FULL_HOUSE;
+            case FLUSH:
+                return PokerHandRank.FLUSH;
+            case STRAIGHT:
+                return PokerHandRank.STRAIGHT;
+            case THREE_OF_A_KIND:
+                return PokerHandRank.THREE_OF_A_KIND;
+            case TWO_PAIR:
+                return PokerHandRank.TWO_PAIR;
+            case ONE_PAIR:
+                return PokerHandRank.ONE_PAIR;
+            default:
+                return PokerHandRank.HIGH_CARD;
+        }
+    }
+
+    /**
+     * Get the category of the best hand in a card mask. Unlike {@link #evaluate(long)}, the mask may contain fewer
+     * than 5 cards, e.g. a board on the turn.
+     *
+     * @param cardMask a mask of 1 to 7 cards
+     * @return the hand category
+     */
+    int categoryOf(long cardMask) {
+        return categories[key(cardMask) >>> CATEGORY_SHIFT];
+    }
+
+    /**
+     * Score the best hand in a card mask as a sparse key. Masks of fewer than 5 cards have fewer kickers.
+     */
+    // Categories are matched from the strongest in hold'em down. Up to 7 cards can't make both a flush and a full
+    // house, so this order also finds the best category of variants where a flush beats a full house.
+    int key(long cardMask) {
+        int suit0 = (int) cardMask & FACE_VALUE_MASK;
+        int suit1 = (int) (cardMask >>> NUM_FACE_VALUES) & FACE_VALUE_MASK;
+        int suit2 = (int) (cardMask >>> 2 * NUM_FACE_VALUES) & FACE_VALUE_MASK;
+        int suit3 = (int) (cardMask >>> 3 * NUM_FACE_VALUES) & FACE_VALUE_MASK;
+
+        int flush = flushFaceValues(suit0, suit1, suit2, suit3);
+        if (flush != 0) {
+            int straight = straightHighCard(flush);
+            if (straight >= 0) {
+                return key(STRAIGHT_FLUSH, straight);
+            }
+        }
+
+        // Face values present in at least one, two, three or all four suits.
+        int any = suit0 | suit1 | suit2 | suit3;
+        int two = (suit0 & suit1) | (suit0 & suit2) | (suit0 & suit3) | (suit1 & suit2) | (suit1 & suit3)
+            | (suit2 & suit3);
+        int three = (suit0 & suit1 & suit2) | (suit0 & suit1 & suit3) | (suit0 & suit2 & suit3)
+            | (suit1 & suit2 & suit3);
+        int four = suit0 & suit1 & suit2 & suit3;
+
+        if (four != 0) {
+            int quads = highest(four);
+            return keyOfHighCards(FOUR_OF_A_KIND, quads << 16, 1, any & ~(1 << quads), 1);
+        }
+        if (three != 0) {
+            int trips = highest(three);
+            int pairs = two & ~(1 << trips);
+            if (pairs != 0) {
+                return key(FULL_HOUSE, trips, highest(pairs));
+            }
+        }
+        if (flush != 0) {
+            return keyOfHighCards(FLUSH, 0, 0, flush, 5);
+        }
+        int straight = straightHighCard(any);
+        if (straight >= 0) {
+            return key(STRAIGHT, straight);
+        }
+        if (three != 0) {
+            int trips = highest(three);
+            return keyOfHighCards(THREE_OF_A_KIND, trips << 16, 1, any & ~(1 << trips), 2);
+        }
+        if (two != 0) {
+            int highPair = highest(two);
+            int lowPairs = two & ~(1 << highPair);
+            if (lowPairs != 0) {
+                int lowPair = highest(lowPairs);
+                int kickers = any & ~(1 << highPair) & ~(1 << lowPair);
+                return keyOfHighCards(TWO_PAIR, (highPair << 16) | (lowPair << 12), 2, kickers, 1);
+            }
+            return keyOfHighCards(ONE_PAIR, highPair << 16, 1, any & ~(1 << highPair), 3);
+        }
+        return keyOfHighCards(HIGH_CARD, 0, 0, any, 5);
+    }
+
+    /**
+     * Get the face values of the flush suit, if a suit contains at least five cards.
+     *
+     * @return the face value mask of the flush suit, or 0 if there is no flush
+     */
+    private static int flushFaceValues(int suit0, int suit1, int suit2, int suit3) {
+        if (Integer.bitCount(suit0) >= 5) {
+            return suit0;
+        }
+        if (Integer.bitCount(suit1) >= 5) {
+            return suit1;
+        }
+        if (Integer.bitCount(suit2) >= 5) {
+            return suit2;
+        }
+        if (Integer.bitCount(suit3) >= 5) {
+            return suit3;
+        }
+        return 0;
+    }
+
+    /**
+     * Find the highest straight in a face value mask.
+     *
+     * @return the high card face value ordinal of the straight, or -1 if there is no straight
+     */
+    private int straightHighCard(int faceValues) {
+        for (int i = 0; i < straights.length; i++) {
+            if ((faceValues & straights[i]) == straights[i]) {
+                return straightHighCards[i];
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Get the highest face value ordinal in a face value mask.
+     */
+    private static int highest(int faceValues) {
+        return 31 - Integer.numberOfLeadingZeros(faceValues);
+    }
+
+    /**
+     * Get the highest face value ordinal of a key.
+     */
+    private static int highCard(int key) {
+        return (key >>> (CATEGORY_SHIFT - 4)) & 0xF;
+    }
+
+    /**
+     * Create a key from a category and up to two face value ordinals, in order of highest to lowest weight.
+     */
+    private int key(int category, int first, int second) {
+        return (categoryValues[category] << CATEGORY_SHIFT) | (first << 16) | (second << 12);
+    }
+
+    private int key(int category, int first) {
+        return key(category, first, 0);
+    }
+
+    /**
+     * Create a key from a category, face values that have already been placed, and the highest remaining face
+     * values in a face value mask.
+     *
+     * @param category the hand category
+     * @param placed the face values already placed in the key
+     * @param numPlaced the number of face values already placed
+     * @param faceValues the face values to choose the high cards from
+     * @param numCards the number of high cards to add
+     * @return the key
+     */
+    private int keyOfHighCards(int category, int placed, int numPlaced, int faceValues, int numCards) {
+        int key = (categoryValues[category] << CATEGORY_SHIFT) | placed;
+        int shift = CATEGORY_SHIFT - 4 * (numPlaced + 1);
+        for (int i = 0; i < numCards && faceValues != 0; i++) {
+            int faceValue = highest(faceValues);
+            faceValues &= ~(1 << faceValue);
+            key |= faceValue << shift;
+            shift -= 4;
+        }
+        return key;
+    }
+
+    /**
+     * Create the sorted keys of every distinct 5 card hand. Each multiset of face values is scored once with mixed
+     * suits, and once more as a flush if all of its face values are distinct.
+     */
+    private int[] createKeys(FaceValue[] deckFaceValues) {
+        int[] keys = new int[8192];
+        int numKeys = 0;
+        int[] faceValues = new int[5];
+        int numHands = (int) Math.pow(deckFaceValues.length, faceValues.length);
+        for (int hand = 0; hand < numHands; hand++) {
+            int remaining = hand;
+            boolean ordered = true;
+            for (int i = 0; i < faceValues.length; i++) {
+                faceValues[i] = deckFaceValues[remaining % deckFaceValues.length].ordinal();
+                remaining /= deckFaceValues.length;
+                ordered &= i == 0 || faceValues[i - 1] <= faceValues[i];
+            }
+            if (!ordered || faceValues[0] == faceValues[4]) {
+                continue;
+            }
+            long cardMask = 0;
+            boolean distinct = true;
+            for (int i = 0; i < faceValues.length; i++) {
+                int suit = 0;
+                while ((cardMask & (1L << (suit * NUM_FACE_VALUES + faceValues[i]))) != 0) {
+                    suit++;
+                }
+                distinct &= suit == 0;
+                cardMask |= 1L << (suit * NUM_FACE_VALUES + faceValues[i]);
+            }
+            if (distinct) {
+                keys[numKeys++] = key(cardMask);
+                cardMask = (cardMask & ~(1L << faceValues[4])) | (1L << (NUM_FACE_VALUES + faceValues[4]));
+            }
+            keys[numKeys++] = key(cardMask);
+        }
+        keys = Arrays.copyOf(keys, numKeys);
+        Arrays.sort(keys);
+        return keys;
+    }
+}
@@ -0,0 +1,159 @@
+package poker;
+
+/**
+ * The outs of a hand: the cards still to come that improve it, what they improve it to, and whether they win against
+ * known opponent hole cards. Outs are found in a single pass over the remaining deck, scoring each card with
+ * {@link HandEvaluator}.
+ */
+public class Outs {
+    /** The evaluator for the variant's rules. */
+    private final HandEvaluator evaluator;
+
+    /** The strength of the hand with each card id added, or 0 if the card is not in the remaining deck. */
+    private final int[] strengths;
+
+    /** The strength of the hand before the next card. */
+    private final int currentStrength;
+
+    /** A mask of the cards that improve the hand's category beyond the board's. */
+    private final long improvingCards;
+
+    /** A mask of the cards that make the hand beat every opponent. */
+    private final long winningCards;
+
+    /** A mask of the cards that make the hand tie for the best hand. */
+    private final long tyingCards;
+
+    private Outs(HandEvaluator evaluator, int[] strengths, int currentStrength, long improvingCards,
+        long winningCards, long tyingCards) {
+        this.evaluator = evaluator;
+        this.strengths = strengths;
+        this.currentStrength = currentStrength;
+        this.improvingCards = improvingCards;
+        this.winningCards = winningCards;
+        this.tyingCards = tyingCards;
+    }
+
+    /**
+     * Find the outs of a hand on the flop or turn, using hold'em rules.
+     *
+     * @param holeCards a mask of the 2 hole cards
+     * @param board a mask of the 3 or 4 board cards
+     * @param opponents masks of each opponent's known hole cards, possibly none
+     * @return the outs
+     */
+    public static Outs analyze(long holeCards, long board, long... opponents) {
+        return analyze(Variant.HOLDEM, holeCards, board, opponents);
+    }
+
+    /**
+     * Find the outs of a hand on the flop or turn, using the rules and deck of a variant.
+     *
+     * @param variant the variant
+     * @param holeCards a mask of the 2 hole cards
+     * @param board a mask of the 3 or 4 board cards
+     * @param opponents masks of each opponent's known hole cards, possibly none
+     * @return the outs
+     * @throws IllegalArgumentException if the cards are invalid, e.g. not in the variant's deck or held twice
+     */
+    public static Outs analyze(Variant variant, long holeCards, long board, long... opponents) {
+        HandEvaluator evaluator = variant.evaluator();
+        if (Long.bitCount(holeCards) != 2) {
+            throw new IllegalArgumentException("The hole cards must be 2 cards, not " + Long.bitCount(holeCards));
+        }
+        int boardSize = Long.bitCount(board);
+        if (boardSize != 3 && boardSize != 4) {
+            throw new IllegalArgumentException("The board must contain 3 or 4 cards, not " + boardSize);
+        }
+        if ((holeCards & board) != 0) {
+            throw new IllegalArgumentException("The hole cards can't be on the board");
+        }
+        long deadCards = holeCards | board;
+        for (long opponent : opponents) {
+            if ((deadCards & opponent) != 0) {
+                throw new IllegalArgumentException("Players can't hold the same card");
+            }
+            deadCards |= opponent;
+        }
+        if ((deadCards & ~variant.deck()) != 0) {
+            throw new IllegalArgumentException("Cards must be in the " + variant + " deck");
+        }
+
+        int currentStrength = evaluator.evaluate(holeCards | board);
+        int currentValue = evaluator.categoryValue(evaluator.category(currentStrength));
+        int[] strengths = new int[Card.DECK_SIZE];
+        long improvingCards = 0;
+        long winningCards = 0;
+        long tyingCards = 0;
+        for (long remaining = variant.deck() & ~deadCards; remaining != 0; remaining &= remaining - 1) {
+            long card = remaining & -remaining;
+            int strength = evaluator.evaluate(holeCards | board | card);
+            strengths[Long.numberOfTrailingZeros(card)] = strength;
+            // Cards that improve the board as much as the hand, e.g. by pairing it, don't count.
+            int value = evaluator.categoryValue(evaluator.category(strength));
+            if (value > currentValue && value > evaluator.categoryValue(evaluator.categoryOf(board | card))) {
+                improvingCards |= card;
+            }
+            if (opponents.length > 0) {
+                int bestOpponent = 0;
+                for (long opponent : opponents) {
+                    bestOpponent = Math.max(bestOpponent, evaluator.evaluate(opponent | board | card));
+                }
+                if (strength > bestOpponent) {
+                    winningCards |= card;
+                } else if (strength == bestOpponent) {
+                    tyingCards |= card;
+                }
+            }
+        }
+        return new Outs(evaluator, strengths, currentStrength, improvingCards, winningCards, tyingCards);
+    }
+
+    /**
+     * Get the cards that improve the hand to a better poker hand rank, e.g. from one pair to three of a kind. A card
+     * that gives the board itself the same rank, e.g. by pairing it, is not an improving card.
+     *
+     * @return a mask of the improving cards
+     */
+    public long improvingCards() {
+        return improvingCards;
+    }
+
+    /**
+     * Get the cards that make the hand beat every opponent. Without opponents, no card is winning.
+     *
+     * @return a mask of the winning cards
+     */
+    public long winningCards() {
+        return winningCards;
+    }
+
+    /**
+     * Get the cards that make the hand tie with the best opponent hand.
+     *
+     * @return a mask of the tying cards
+     */
+    public long tyingCards() {
+        return tyingCards;
+    }
+
+    /**
+     * Get the poker hand rank of the hand before the next card.
+     *
+     * @return the poker hand rank
+     */
+    public PokerHandRank currentRank() {
+        return evaluator.rankOf(currentStrength);
+    }
+
+    /**
+     * Get the poker hand rank of the hand if a card comes.
+     *
+     * @param card the card
+     * @return the poker hand rank, or null if the card is not in the remaining deck
+     */
+    public PokerHandRank rankWith(Card card) {
+        int strength = strengths[card.id()];
+        return strength == 0 ? null : evaluator.rankOf(strength);
+    }
+}
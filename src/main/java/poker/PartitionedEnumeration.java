@@ -0,0 +1,363 @@
+package poker;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Enumerates every combination of k elements from n, split into chunks of consecutive combination ranks (see
+ * {@link CombineUtil#rank(long)}) that are processed independently, by any number of threads and worker processes.
+ * Workers coordinate through a shared directory, so they can run in local JVMs or on any host that mounts it. Each
+ * finished chunk is checkpointed as a result file; an interrupted enumeration resumes from the unfinished chunks.
+ */
+// The directory contains:
+//   job.properties      the job class, and the number of chunks
+//   chunk-<i>.lock      created atomically by the worker that claims chunk i, and touched while it works
+//   chunk-<i>.result    the chunk's partial result, moved into place atomically when the chunk is done
+// A worker touches its locks every LOCK_TOUCH_MILLIS, so a lock that hasn't been touched for STALE_LOCK_MILLIS
+// belongs to a worker that died, and may be claimed again. Processing a chunk twice is harmless, since a chunk always
+// produces the same result.
+public class PartitionedEnumeration {
+    /** A job: the combinations to enumerate, and how to accumulate a result from each. */
+    public interface Job {
+        /**
+         * @return the number of elements, at most 63
+         */
+        int numElements();
+
+        /**
+         * @return the number of elements in each combination
+         */
+        int combinationSize();
+
+        /**
+         * @return the size of the result, an array of counters that are summed over all combinations
+         */
+        int resultSize();
+
+        /**
+         * Accumulate the result of a combination.
+         *
+         * @param combination the combination, as a mask of elements
+         * @param result the result to add to
+         */
+        void accept(long combination, long[] result);
+    }
+
+    /** The name of the job description file. */
+    private static final String JOB_FILE = "job.properties";
+
+    /** A lock older than this belongs to a dead worker. */
+    static final long STALE_LOCK_MILLIS = 60 * 1000;
+
+    /** How often a worker touches the lock of the chunk it is processing. */
+    private static final long LOCK_TOUCH_MILLIS = 10 * 1000;
+
+    /** How long to wait before checking again for chunks locked by other workers. */
+    private static final long POLL_MILLIS = 1000;
+
+    /** The coordination directory. */
+    private final Path directory;
+
+    /** The job. */
+    private final Job job;
+
+    /** The number of combinations. */
+    private final long size;
+
+    /** The number of chunks. */
+    private final int numChunks;
+
+    private PartitionedEnumeration(Path directory, Job job, int numChunks) {
+        validate(job, numChunks);
+        this.directory = directory;
+        this.job = job;
+        this.size = CombineUtil.binomial(job.numElements(), job.combinationSize());
+        this.numChunks = numChunks;
+    }
+
+    /**
+     * Create an enumeration in a directory. If the directory already contains the same enumeration, it is opened
+     * instead, so that it resumes.
+     *
+     * @param directory the coordination directory
+     * @param jobClass the job class, which must have a public no argument constructor
+     * @param numChunks the number of chunks to split the enumeration into
+     * @return the enumeration
+     * @throws IOException if the directory can't be written
+     * @throws IllegalArgumentException if the job or number of chunks is invalid, or the directory contains an
+     * enumeration with another job or number of chunks
+     */
+    public static PartitionedEnumeration create(Path directory, Class<? extends Job> jobClass, int numChunks)
+        throws IOException {
+        Files.createDirectories(directory);
+        if (!Files.exists(directory.resolve(JOB_FILE))) {
+            validate(newJob(jobClass.getName()), numChunks);
+            Properties properties = new Properties();
+            properties.setProperty("job", jobClass.getName());
+            properties.setProperty("chunks", Integer.toString(numChunks));
+            Path tempFile = Files.createTempFile(directory, JOB_FILE, ".tmp");
+            try (OutputStream out = Files.newOutputStream(tempFile)) {
+                properties.store(out, null);
+            }
+            Files.move(tempFile, directory.resolve(JOB_FILE), StandardCopyOption.ATOMIC_MOVE);
+        }
+        PartitionedEnumeration enumeration = open(directory);
+        if (enumeration.job.getClass() != jobClass || enumeration.numChunks != numChunks) {
+            throw new IllegalArgumentException("Directory " + directory + " contains another enumeration: "
+                + enumeration.job.getClass().getName() + " in " + enumeration.numChunks + " chunks");
+        }
+        return enumeration;
+    }
+
+    /**
+     * Open an existing enumeration.
+     *
+     * @param directory the coordination directory
+     * @return the enumeration
+     * @throws IOException if the directory doesn't contain an enumeration
+     */
+    public static PartitionedEnumeration open(Path directory) throws IOException {
+        Properties properties = new Properties();
+        try (InputStream in = Files.newInputStream(directory.resolve(JOB_FILE))) {
+            properties.load(in);
+        }
+        return new PartitionedEnumeration(directory, newJob(properties.getProperty("job")),
+            Integer.parseInt(properties.getProperty("chunks")));
+    }
+
+    private static Job newJob(String className) throws IOException {
+        try {
+            return (Job) Class.forName(className).getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException | ClassCastException e) {
+            throw new IOException("Can't create job " + className, e);
+        }
+    }
+
+    /**
+     * Check that a job's combinations can be enumerated as masks, in some number of chunks.
+     */
+    private static void validate(Job job, int numChunks) {
+        if (job.numElements() < 1 || job.numElements() > 63) {
+            throw new IllegalArgumentException("A job must have 1 to 63 elements, not " + job.numElements());
+        }
+        if (job.combinationSize() < 1 || job.combinationSize() > job.numElements()) {
+            throw new IllegalArgumentException("A job's combinations must have 1 to " + job.numElements()
+                + " elements, not " + job.combinationSize());
+        }
+        if (numChunks < 1) {
+            throw new IllegalArgumentException("An enumeration must have at least one chunk, not " + numChunks);
+        }
+    }
+
+    /**
+     * Run a worker, processing unfinished chunks in this JVM until every chunk is finished. Chunks locked by other
+     * workers are waited for, and taken over once their locks are stale, so that the chunks of dead workers are
+     * processed too.
+     *
+     * @param numThreads the number of chunks to process concurrently
+     * @throws IOException if the directory can't be read or written
+     */
+    public void work(int numThreads) throws IOException {
+        ExecutorService executor = Executors.newFixedThreadPool(numThreads);
+        try {
+            while (true) {
+                List<Future<Void>> workers = new ArrayList<>();
+                for (int i = 0; i < numThreads; i++) {
+                    workers.add(executor.submit(() -> {
+                        for (int chunk = 0; chunk < numChunks; chunk++) {
+                            if (claim(chunk)) {
+                                process(chunk);
+                            }
+                        }
+                        return null;
+                    }));
+                }
+                for (Future<Void> worker : workers) {
+                    worker.get();
+                }
+                if (isComplete()) {
+                    return;
+                }
+                Thread.sleep(POLL_MILLIS);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            throw new IllegalStateException("Job failed", e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Run workers in local JVMs, and wait for them to finish.
+     *
+     * @param numProcesses the number of worker processes
+     * @param numThreads the number of threads in each worker
+     * @throws IOException if a worker can't be started, or fails
+     * @throws InterruptedException if interrupted while waiting for the workers
+     */
+    public void runLocal(int numProcesses, int numThreads) throws IOException, InterruptedException {
+        String java = Paths.get(System.getProperty("java.home"), "bin", "java").toString();
+        List<Process> processes = new ArrayList<>();
+        for (int i = 0; i < numProcesses; i++) {
+            processes.add(new ProcessBuilder(java, "-cp", System.getProperty("java.class.path"),
+                PartitionedEnumeration.class.getName(), directory.toString(), Integer.toString(numThreads))
+                .inheritIO().start());
+        }
+        for (Process process : processes) {
+            int exitCode = process.waitFor();
+            if (exitCode != 0) {
+                throw new IOException("Worker exited with " + exitCode);
+            }
+        }
+    }
+
+    /**
+     * Check whether every chunk has a result.
+     *
+     * @return true if the enumeration is complete
+     */
+    public boolean isComplete() {
+        for (int chunk = 0; chunk < numChunks; chunk++) {
+            if (!Files.exists(resultFile(chunk))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Merge the results of every chunk.
+     *
+     * @return the sum of the chunk results
+     * @throws IOException if a chunk result is missing or can't be read
+     */
+    public long[] merge() throws IOException {
+        long[] result = new long[job.resultSize()];
+        for (int chunk = 0; chunk < numChunks; chunk++) {
+            try (DataInputStream in = new DataInputStream(
+                new BufferedInputStream(Files.newInputStream(resultFile(chunk))))) {
+                for (int i = 0; i < result.length; i++) {
+                    result[i] += in.readLong();
+                }
+            } catch (NoSuchFileException e) {
+                throw new IOException("Chunk " + chunk + " is not finished", e);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Try to claim a chunk.
+     *
+     * @return true if this worker now owns the chunk
+     */
+    private boolean claim(int chunk) throws IOException {
+        if (Files.exists(resultFile(chunk))) {
+            return false;
+        }
+        Path lockFile = lockFile(chunk);
+        try {
+            Files.createFile(lockFile);
+            return true;
+        } catch (FileAlreadyExistsException e) {
+            // Take over the chunk of a dead worker.
+            try {
+                long age = System.currentTimeMillis() - Files.getLastModifiedTime(lockFile).toMillis();
+                if (age > STALE_LOCK_MILLIS && !Files.exists(resultFile(chunk))) {
+                    Files.setLastModifiedTime(lockFile, FileTime.fromMillis(System.currentTimeMillis()));
+                    return true;
+                }
+            } catch (NoSuchFileException ignored) {
+                // The lock was removed by its owner.
+            }
+            return false;
+        }
+    }
+
+    /**
+     * Process a claimed chunk, and save its result.
+     */
+    private void process(int chunk) throws IOException {
+        long from = start(chunk);
+        long to = start(chunk + 1);
+        long[] result = new long[job.resultSize()];
+        long combination = CombineUtil.unrank(from, job.combinationSize());
+        long nextTouch = System.currentTimeMillis() + LOCK_TOUCH_MILLIS;
+        for (long rank = from; rank < to; rank++) {
+            job.accept(combination, result);
+            combination = CombineUtil.nextCombination(combination);
+            if (System.currentTimeMillis() >= nextTouch) {
+                try {
+                    Files.setLastModifiedTime(lockFile(chunk), FileTime.fromMillis(System.currentTimeMillis()));
+                } catch (NoSuchFileException ignored) {
+                    // A worker this chunk was taken over from finished it first; finishing it again is harmless.
+                }
+                nextTouch = System.currentTimeMillis() + LOCK_TOUCH_MILLIS;
+            }
+        }
+
+        Path tempFile = Files.createTempFile(directory, "chunk-" + chunk, ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tempFile)))) {
+            for (long value : result) {
+                out.writeLong(value);
+            }
+        }
+        Files.move(tempFile, resultFile(chunk), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        Files.deleteIfExists(lockFile(chunk));
+    }
+
+    /**
+     * Get the first combination rank of a chunk. The first size % numChunks chunks are one combination larger.
+     */
+    private long start(int chunk) {
+        return size / numChunks * chunk + Math.min(chunk, size % numChunks);
+    }
+
+    private Path lockFile(int chunk) {
+        return directory.resolve("chunk-" + chunk + ".lock");
+    }
+
+    private Path resultFile(int chunk) {
+        return directory.resolve("chunk-" + chunk + ".result");
+    }
+
+    /**
+     * Run a worker process.
+     *
+     * @param args the coordination directory, and optionally the number of threads
+     * @throws IOException if the directory can't be read or written
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1) {
+            System.err.println("Usage: " + PartitionedEnumeration.class.getName() + " <directory> [threads]");
+            System.exit(2);
+        }
+        int numThreads = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+        open(Paths.get(args[0])).work(numThreads);
+    }
+}
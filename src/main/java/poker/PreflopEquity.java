@@ -0,0 +1,344 @@
+package poker;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.LongToIntFunction;
+import java.util.stream.IntStream;
+
+/**
+ * Heads-up preflop equity of every pair of canonical starting hands (see {@link StartingHand}). The table is
+ * generated once by exact enumeration of every board, saved to a file, and loaded to answer preflop queries with a
+ * single array lookup, by starting hand index or by {@link #startingHandEquity(long, long)}. The equity of specific
+ * hole cards, or of more than two players, is computed live by {@link #equity(long...)}.
+ */
+// The file is a header (magic number and number of starting hands) followed by the upper triangle of the matrix,
+// including the diagonal, as floats. The lower triangle is 1 - the upper triangle.
+public class PreflopEquity {
+    /** Identifies an equity file. */
+    private static final int MAGIC = 0x50455131;
+
+    /** The number of cards on a board. */
+    private static final int BOARD_SIZE = 5;
+
+    /** Evaluates hands for queries the table doesn't cover. */
+    private static final LongToIntFunction EVALUATOR = Variant.HOLDEM.evaluator()::evaluate;
+
+    /** Every permutation of the suits, used to find hole cards that are the same up to suit. */
+    private static final int[][] SUIT_PERMUTATIONS = createSuitPermutations();
+
+    /** The equity of starting hand i against starting hand j, at index i * StartingHand.COUNT + j. */
+    private final float[] equities;
+
+    PreflopEquity(float[] equities) {
+        this.equities = equities;
+    }
+
+    /**
+     * Get the heads-up equity of a starting hand: the fraction of pots it wins, counting a split pot as half a win.
+     *
+     * @param hero the hero's starting hand index
+     * @param villain the villain's starting hand index
+     * @return the hero's equity
+     */
+    public double equity(int hero, int villain) {
+        return equities[hero * StartingHand.COUNT + villain];
+    }
+
+    /**
+     * Get the heads-up equity of the starting hands of two players' hole cards, looked up in the table. This is the
+     * equity averaged over every suit of the starting hands, not the equity of the specific hole cards.
+     *
+     * @param heroCards a mask of the hero's two hole cards
+     * @param villainCards a mask of the villain's two hole cards
+     * @return the hero's equity
+     */
+    public double startingHandEquity(long heroCards, long villainCards) {
+        if (Long.bitCount(heroCards) != 2 || Long.bitCount(villainCards) != 2) {
+            throw new IllegalArgumentException("Each player must hold 2 hole cards");
+        }
+        return equity(StartingHand.index(heroCards), StartingHand.index(villainCards));
+    }
+
+    /**
+     * Get the exact equity of each player's specific hole cards, computed live by enumerating every board.
+     *
+     * @param holeCards each player's hole cards, as card masks
+     * @return each player's equity
+     */
+    public double[] equity(long... holeCards) {
+        return computeEquity(EVALUATOR, holeCards);
+    }
+
+    /**
+     * Generate the equity table by exact enumeration, evaluating hands with {@link HandEvaluator}. This evaluates
+     * hundreds of billions of hands; generating with a {@link SevenCardTable} is much faster.
+     *
+     * @return the equity table
+     */
+    public static PreflopEquity generate() {
+        return generate(EVALUATOR);
+    }
+
+    /**
+     * Generate the equity table by exact enumeration, evaluating hands with a seven card table.
+     *
+     * @param sevenCardTable the seven card table
+     * @return the equity table
+     */
+    public static PreflopEquity generate(SevenCardTable sevenCardTable) {
+        return generate(sevenCardTable::strength);
+    }
+
+    /**
+     * Generate the equity table, computing each pair of starting hands in parallel.
+     */
+    private static PreflopEquity generate(LongToIntFunction evaluator) {
+        return generate(evaluator, IntStream.range(0, StartingHand.COUNT).toArray());
+    }
+
+    /**
+     * Generate the entries of the equity table for every pair of some starting hands, computing each pair in
+     * parallel. The other entries are 0.
+     *
+     * @param evaluator evaluates a 7 card mask, e.g. {@link HandEvaluator#evaluate(long)}
+     * @param startingHands the starting hand indexes, in increasing order
+     * @return the equity table
+     */
+    static PreflopEquity generate(LongToIntFunction evaluator, int... startingHands) {
+        float[] equities = new float[StartingHand.COUNT * StartingHand.COUNT];
+        IntStream.range(0, startingHands.length * startingHands.length).parallel()
+            .filter(pair -> pair / startingHands.length <= pair % startingHands.length)
+            .forEach(pair -> {
+                int hero = startingHands[pair / startingHands.length];
+                int villain = startingHands[pair % startingHands.length];
+                double equity = startingHandEquity(evaluator, hero, villain);
+                equities[hero * StartingHand.COUNT + villain] = (float) equity;
+                if (hero != villain) {
+                    equities[villain * StartingHand.COUNT + hero] = (float) (1 - equity);
+                }
+            });
+        return new PreflopEquity(equities);
+    }
+
+    /**
+     * Load an equity table from a file created by {@link #save(Path)}.
+     *
+     * @param file the equity file
+     * @return the equity table
+     * @throws IOException if the file can't be read, or is not an equity file
+     */
+    public static PreflopEquity load(Path file) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            if (in.readInt() != MAGIC || in.readInt() != StartingHand.COUNT) {
+                throw new IOException("Not a preflop equity file: " + file);
+            }
+            float[] equities = new float[StartingHand.COUNT * StartingHand.COUNT];
+            for (int hero = 0; hero < StartingHand.COUNT; hero++) {
+                for (int villain = hero; villain < StartingHand.COUNT; villain++) {
+                    float equity = in.readFloat();
+                    equities[hero * StartingHand.COUNT + villain] = equity;
+                    if (hero != villain) {
+                        equities[villain * StartingHand.COUNT + hero] = 1 - equity;
+                    }
+                }
+            }
+            return new PreflopEquity(equities);
+        }
+    }
+
+    /**
+     * Load an equity table from a file, generating and saving the table first if the file doesn't exist.
+     *
+     * @param file the equity file
+     * @return the equity table
+     * @throws IOException if the file can't be written or read
+     */
+    public static PreflopEquity loadOrGenerate(Path file) throws IOException {
+        if (!Files.exists(file)) {
+            generate().save(file);
+        }
+        return load(file);
+    }
+
+    /**
+     * Load an equity table from a file, generating the table with a seven card table and saving it first if the file
+     * doesn't exist.
+     *
+     * @param file the equity file
+     * @param sevenCardTable the seven card table to generate with
+     * @return the equity table
+     * @throws IOException if the file can't be written or read
+     */
+    public static PreflopEquity loadOrGenerate(Path file, SevenCardTable sevenCardTable) throws IOException {
+        if (!Files.exists(file)) {
+            generate(sevenCardTable).save(file);
+        }
+        return load(file);
+    }
+
+    /**
+     * Save this equity table to a file. The file is written in full before it replaces any existing file.
+     *
+     * @param file the equity file
+     * @throws IOException if the file can't be written
+     */
+    public void save(Path file) throws IOException {
+        Path tempFile = Files.createTempFile(file.toAbsolutePath().getParent(), file.getFileName().toString(), ".tmp");
+        try {
+            try (DataOutputStream out =
+                     new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tempFile)))) {
+                out.writeInt(MAGIC);
+                out.writeInt(StartingHand.COUNT);
+                for (int hero = 0; hero < StartingHand.COUNT; hero++) {
+                    for (int villain = hero; villain < StartingHand.COUNT; villain++) {
+                        out.writeFloat(equities[hero * StartingHand.COUNT + villain]);
+                    }
+                }
+            }
+            Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(tempFile);
+            throw e;
+        }
+    }
+
+    /**
+     * Compute the exact heads-up equity of a starting hand against another, over every pair of hole cards of the
+     * two starting hands that don't share a card. Hole cards that are the same up to suit are only computed once.
+     *
+     * @param evaluator evaluates a 7 card mask, e.g. {@link HandEvaluator#evaluate(long)}
+     * @param hero the hero's starting hand index
+     * @param villain the villain's starting hand index
+     * @return the hero's equity
+     */
+    static double startingHandEquity(LongToIntFunction evaluator, int hero, int villain) {
+        // Count the hole cards by their canonical form, the lowest under every suit permutation.
+        Map<Long, Integer> weights = new HashMap<>();
+        for (long heroCards : StartingHand.holeCards(hero)) {
+            for (long villainCards : StartingHand.holeCards(villain)) {
+                if ((heroCards & villainCards) == 0) {
+                    weights.merge(canonicalKey(heroCards, villainCards), 1, Integer::sum);
+                }
+            }
+        }
+        double equity = 0;
+        int total = 0;
+        for (Map.Entry<Long, Integer> entry : weights.entrySet()) {
+            long key = entry.getKey();
+            long heroCards = key >>> 32;
+            long villainCards = key & 0xFFFFFFFFL;
+            equity += entry.getValue()
+                * computeEquity(evaluator, maskOf(heroCards), maskOf(villainCards))[0];
+            total += entry.getValue();
+        }
+        return equity / total;
+    }
+
+    /**
+     * Compute the exact equity of each player's hole cards, by enumerating every board.
+     *
+     * @param evaluator evaluates a 7 card mask, e.g. {@link HandEvaluator#evaluate(long)}
+     * @param holeCards each player's hole cards, as card masks
+     * @return each player's equity
+     */
+    public static double[] computeEquity(LongToIntFunction evaluator, long... holeCards) {
+        long deadCards = 0;
+        for (long cards : holeCards) {
+            if ((deadCards & cards) != 0) {
+                throw new IllegalArgumentException("Players can't hold the same card");
+            }
+            deadCards |= cards;
+        }
+        double[] equities = new double[holeCards.length];
+        int[] strengths = new int[holeCards.length];
+        long[] numBoards = {0};
+        CombineUtil.forEachCombination(~deadCards & ((1L << Card.DECK_SIZE) - 1), BOARD_SIZE, board -> {
+            int best = 0;
+            int numWinners = 0;
+            for (int i = 0; i < holeCards.length; i++) {
+                strengths[i] = evaluator.applyAsInt(board | holeCards[i]);
+                if (strengths[i] > best) {
+                    best = strengths[i];
+                    numWinners = 1;
+                } else if (strengths[i] == best) {
+                    numWinners++;
+                }
+            }
+            for (int i = 0; i < holeCards.length; i++) {
+                if (strengths[i] == best) {
+                    equities[i] += 1.0 / numWinners;
+                }
+            }
+            numBoards[0]++;
+        });
+        for (int i = 0; i < equities.length; i++) {
+            equities[i] /= numBoards[0];
+        }
+        return equities;
+    }
+
+    /**
+     * Create the canonical key of a pair of hole cards: the card ids of both hands, under the suit permutation
+     * that gives the lowest key.
+     */
+    private static long canonicalKey(long heroCards, long villainCards) {
+        long bestKey = Long.MAX_VALUE;
+        for (int[] permutation : SUIT_PERMUTATIONS) {
+            long key = (idsOf(permute(heroCards, permutation)) << 32) | idsOf(permute(villainCards, permutation));
+            bestKey = Math.min(bestKey, key);
+        }
+        return bestKey;
+    }
+
+    /**
+     * Move each suit of a card mask to another suit.
+     */
+    private static long permute(long cardMask, int[] permutation) {
+        int numFaceValues = FaceValue.values().length;
+        long faceValueMask = (1L << numFaceValues) - 1;
+        long permuted = 0;
+        for (int suit = 0; suit < permutation.length; suit++) {
+            permuted |= ((cardMask >>> (suit * numFaceValues)) & faceValueMask) << (permutation[suit] * numFaceValues);
+        }
+        return permuted;
+    }
+
+    /**
+     * Pack the two card ids of hole cards, low card first.
+     */
+    private static long idsOf(long holeCards) {
+        return (Long.numberOfTrailingZeros(holeCards) << 8) | (63 - Long.numberOfLeadingZeros(holeCards));
+    }
+
+    /**
+     * Unpack hole cards packed by {@link #idsOf(long)}.
+     */
+    private static long maskOf(long ids) {
+        return (1L << (ids >>> 8)) | (1L << (ids & 0xFF));
+    }
+
+    private static int[][] createSuitPermutations() {
+        int numSuits = Suit.values().length;
+        int[][] permutations = new int[24][];
+        int count = 0;
+        for (int a = 0; a < numSuits; a++) {
+            for (int b = 0; b < numSuits; b++) {
+                for (int c = 0; c < numSuits; c++) {
+                    int d = 6 - a - b - c;
+                    if (a != b && a != c && b != c && d >= 0 && d < numSuits && d != a && d != b && d != c) {
+                        permutations[count++] = new int[]{a, b, c, d};
+                    }
+                }
+            }
+        }
+        return permutations;
+    }
+}
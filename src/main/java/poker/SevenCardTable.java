@@ -0,0 +1,181 @@
+package poker;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.stream.IntStream;
+
+/**
+ * A precomputed table of the strength of every 7 card hold'em set, as scored by {@link HandEvaluator}. The table is
+ * stored in a file and memory mapped, so it is loaded instantly and lives off-heap, in the page cache shared by every
+ * JVM on the host.
+ */
+// A 7 card set is indexed by its rank in the combinatorial number system: with the card ids in increasing order
+// c0 < c1 < ... < c6, the index is C(c0, 1) + C(c1, 2) + ... + C(c6, 7). Each entry is the 16 bit strength of the
+// set, following a small header.
+public class SevenCardTable {
+    /** The number of cards in a set. */
+    static final int NUM_CARDS = 7;
+
+    /** The number of 7 card sets in a deck. */
+    static final int SIZE = (int) CombineUtil.binomial(Card.DECK_SIZE, NUM_CARDS);
+
+    /** Identifies a table file. */
+    private static final int MAGIC = 0x50375443;
+
+    /** The size of the file header: the magic number and the number of entries. */
+    private static final int HEADER_SIZE = 8;
+
+    /** The size of the table file. */
+    static final long FILE_SIZE = HEADER_SIZE + 2L * SIZE;
+
+    /** Binomial coefficients C(n, k) for every card id n and every k up to NUM_CARDS. */
+    private static final int[][] CHOOSE = new int[Card.DECK_SIZE][NUM_CARDS + 1];
+
+    static {
+        for (int n = 0; n < Card.DECK_SIZE; n++) {
+            for (int k = 0; k <= NUM_CARDS; k++) {
+                CHOOSE[n][k] = (int) CombineUtil.binomial(n, k);
+            }
+        }
+    }
+
+    /** Evaluates the hands in the table. */
+    private static final HandEvaluator EVALUATOR = Variant.HOLDEM.evaluator();
+
+    /** The mapped table file. */
+    private final ByteBuffer table;
+
+    private SevenCardTable(ByteBuffer table) {
+        this.table = table;
+    }
+
+    /**
+     * Load a table from a file created by {@link #generate(Path)}.
+     *
+     * @param file the table file
+     * @return the table
+     * @throws IOException if the file can't be mapped, or is not a table file
+     */
+    public static SevenCardTable load(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() != FILE_SIZE) {
+                throw new IOException("Not a seven card table: " + file);
+            }
+            MappedByteBuffer table = channel.map(FileChannel.MapMode.READ_ONLY, 0, FILE_SIZE);
+            if (table.getInt(0) != MAGIC || table.getInt(4) != SIZE) {
+                throw new IOException("Not a seven card table: " + file);
+            }
+            return new SevenCardTable(table);
+        }
+    }
+
+    /**
+     * Load a table from a file, generating the file first if it doesn't exist.
+     *
+     * @param file the table file
+     * @return the table
+     * @throws IOException if the file can't be created or mapped
+     */
+    public static SevenCardTable loadOrGenerate(Path file) throws IOException {
+        if (!Files.exists(file)) {
+            generate(file);
+        }
+        return load(file);
+    }
+
+    /**
+     * Generate the table and write it to a file. Sets are evaluated in parallel, partitioned by their two highest
+     * cards, and each partition writes its own contiguous range of the file.
+     *
+     * @param file the table file to create
+     * @throws IOException if the file can't be written
+     */
+    public static void generate(Path file) throws IOException {
+        // Write to a unique temporary file, so that concurrent generators don't write over each other.
+        Path tempFile = Files.createTempFile(file.toAbsolutePath().getParent(), file.getFileName().toString(), ".tmp");
+        try {
+            try (FileChannel channel = FileChannel.open(tempFile, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                MappedByteBuffer table = channel.map(FileChannel.MapMode.READ_WRITE, 0, FILE_SIZE);
+                IntStream.range(NUM_CARDS - 1, Card.DECK_SIZE).parallel().forEach(
+                    c6 -> IntStream.range(NUM_CARDS - 2, c6).parallel().forEach(c5 -> fill(table, c6, c5)));
+                table.putInt(0, MAGIC);
+                table.putInt(4, SIZE);
+                table.force();
+            }
+            Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(tempFile);
+            throw e;
+        }
+    }
+
+    /**
+     * Fill the entries of every set whose two highest cards are c6 and c5.
+     */
+    private static void fill(ByteBuffer table, int c6, int c5) {
+        int base = CHOOSE[c6][7] + CHOOSE[c5][6];
+        long mask65 = (1L << c6) | (1L << c5);
+        for (int c4 = 4; c4 < c5; c4++) {
+            int index4 = base + CHOOSE[c4][5];
+            long mask4 = mask65 | (1L << c4);
+            for (int c3 = 3; c3 < c4; c3++) {
+                int index3 = index4 + CHOOSE[c3][4];
+                long mask3 = mask4 | (1L << c3);
+                for (int c2 = 2; c2 < c3; c2++) {
+                    int index2 = index3 + CHOOSE[c2][3];
+                    long mask2 = mask3 | (1L << c2);
+                    for (int c1 = 1; c1 < c2; c1++) {
+                        int index1 = index2 + CHOOSE[c1][2];
+                        long mask1 = mask2 | (1L << c1);
+                        for (int c0 = 0; c0 < c1; c0++) {
+                            short strength = (short) EVALUATOR.evaluate(mask1 | (1L << c0));
+                            table.putShort(HEADER_SIZE + 2 * (index1 + c0), strength);
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Get the index of a 7 card set.
+     *
+     * @param cardMask a mask of exactly 7 cards
+     * @return the index of the set
+     */
+    static int index(long cardMask) {
+        int index = 0;
+        for (int k = 1; k <= NUM_CARDS; k++) {
+            int card = Long.numberOfTrailingZeros(cardMask);
+            index += CHOOSE[card][k];
+            cardMask &= cardMask - 1;
+        }
+        return index;
+    }
+
+    /**
+     * Get the strength of a 7 card set by its index.
+     *
+     * @param index the index of the set, see {@link #index(long)}
+     * @return the hand strength, as returned by the hold'em {@link HandEvaluator#evaluate(long)}
+     */
+    public int strength(int index) {
+        return table.getShort(HEADER_SIZE + 2 * index) & 0xFFFF;
+    }
+
+    /**
+     * Get the strength of a 7 card set.
+     *
+     * @param cardMask a mask of exactly 7 cards
+     * @return the hand strength, as returned by the hold'em {@link HandEvaluator#evaluate(long)}
+     */
+    public int strength(long cardMask) {
+        return strength(index(cardMask));
+    }
+}
@@ -0,0 +1,78 @@
+package poker;
+
+import java.util.Arrays;
+
+/**
+ * A utility class for the 169 canonical hold'em starting hands. Two hole cards are canonical by their face values,
+ * and whether they are suited; the suits themselves don't matter before the flop.
+ */
+// A canonical starting hand is indexed in a 13 x 13 grid of face value ordinals: pairs on the diagonal, suited hands
+// at (high, low) and offsuit hands at (low, high), with index row * 13 + column.
+public enum StartingHand {
+    _DUMMY;
+
+    /** The number of face values. */
+    private static final int NUM_FACE_VALUES = FaceValue.values().length;
+
+    /** The number of canonical starting hands. */
+    static final int COUNT = NUM_FACE_VALUES * NUM_FACE_VALUES;
+
+    /**
+     * Get the canonical starting hand of two hole cards.
+     *
+     * @param holeCards a mask of two cards
+     * @return the starting hand index
+     */
+    static int index(long holeCards) {
+        int card1 = Long.numberOfTrailingZeros(holeCards);
+        int card2 = 63 - Long.numberOfLeadingZeros(holeCards);
+        int faceValue1 = card1 % NUM_FACE_VALUES;
+        int faceValue2 = card2 % NUM_FACE_VALUES;
+        int high = Math.max(faceValue1, faceValue2);
+        int low = Math.min(faceValue1, faceValue2);
+        boolean suited = card1 / NUM_FACE_VALUES == card2 / NUM_FACE_VALUES;
+        return suited ? high * NUM_FACE_VALUES + low : low * NUM_FACE_VALUES + high;
+    }
+
+    /**
+     * Get every pair of hole cards of a starting hand.
+     *
+     * @param index the starting hand index
+     * @return the hole cards, as card masks
+     */
+    static long[] holeCards(int index) {
+        int row = index / NUM_FACE_VALUES;
+        int column = index % NUM_FACE_VALUES;
+        boolean suited = row > column;
+        long[] holeCards = new long[12];
+        int count = 0;
+        for (int suit1 = 0; suit1 < Suit.values().length; suit1++) {
+            for (int suit2 = 0; suit2 < Suit.values().length; suit2++) {
+                if ((suit1 == suit2) != suited || (row == column && suit2 <= suit1)) {
+                    continue;
+                }
+                holeCards[count++] = (1L << (suit1 * NUM_FACE_VALUES + row))
+                    | (1L << (suit2 * NUM_FACE_VALUES + column));
+            }
+        }
+        return Arrays.copyOf(holeCards, count);
+    }
+
+    /**
+     * Get the name of a starting hand, e.g. "AKs", "QJo" or "99".
+     *
+     * @param index the starting hand index
+     * @return the name
+     */
+    static String name(int index) {
+        FaceValue row = FaceValue.values()[index / NUM_FACE_VALUES];
+        FaceValue column = FaceValue.values()[index % NUM_FACE_VALUES];
+        if (row == column) {
+            return row.representation + column.representation;
+        }
+        if (row.compareTo(column) > 0) {
+            return row.representation + column.representation + "s";
+        }
+        return column.representation + row.representation + "o";
+    }
+}
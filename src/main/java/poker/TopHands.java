@@ -0,0 +1,174 @@
+package poker;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collector;
+import java.util.stream.LongStream;
+
+/**
+ * Keeps the best K hands of a stream of hands, by hold'em {@link HandEvaluator} strength. Hands are given as card
+ * masks and kept in a bounded primitive heap; Hand objects are only created for the final K hands.
+ * <p>
+ * Hands with the same strength are ordered by their card masks, the lower mask ranking higher, so the result doesn't
+ * depend on the order of the stream or how it was partitioned.
+ */
+public class TopHands {
+    /** Evaluates hands with hold'em rules. */
+    private static final HandEvaluator EVALUATOR = Variant.HOLDEM.evaluator();
+
+    /** The number of hands to keep. */
+    private final int size;
+
+    /** The strengths of the kept hands, a min-heap together with masks. */
+    private final int[] strengths;
+
+    /** The card masks of the kept hands. */
+    private final long[] masks;
+
+    /** The number of kept hands. */
+    private int count;
+
+    /**
+     * Create an empty set of top hands.
+     *
+     * @param size the number of hands to keep
+     */
+    public TopHands(int size) {
+        if (size < 1) {
+            throw new IllegalArgumentException("Must keep at least one hand, not " + size);
+        }
+        this.size = size;
+        strengths = new int[size];
+        masks = new long[size];
+    }
+
+    /**
+     * Find the best hands in a stream of card masks. The stream may be parallel.
+     *
+     * @param cardMasks the hands, as masks of 5 to 7 cards
+     * @param size the number of hands to keep
+     * @return the best hands, best first
+     */
+    public static List<Hand> of(LongStream cardMasks, int size) {
+        return cardMasks.collect(() -> new TopHands(size), TopHands::add, TopHands::merge).toHands();
+    }
+
+    /**
+     * Create a collector that finds the best hands in a stream of card masks.
+     *
+     * @param size the number of hands to keep
+     * @return the collector, producing the best hands, best first
+     */
+    public static Collector<Long, TopHands, List<Hand>> collector(int size) {
+        return Collector.of(() -> new TopHands(size), TopHands::add,
+            (left, right) -> {
+                left.merge(right);
+                return left;
+            },
+            TopHands::toHands, Collector.Characteristics.UNORDERED);
+    }
+
+    /**
+     * Add a hand.
+     *
+     * @param cardMask the hand, as a mask of 5 to 7 cards
+     */
+    public void add(long cardMask) {
+        add(EVALUATOR.evaluate(cardMask), cardMask);
+    }
+
+    /**
+     * Add every hand kept by another set of top hands.
+     *
+     * @param other the other top hands
+     */
+    public void merge(TopHands other) {
+        for (int i = 0; i < other.count; i++) {
+            add(other.strengths[i], other.masks[i]);
+        }
+    }
+
+    /**
+     * Create the kept hands. A mask of more than 5 cards is created as its 5 cards with the highest strength, so
+     * that the hands are scored the same way they were ranked.
+     *
+     * @return the kept hands, best first
+     */
+    public List<Hand> toHands() {
+        Integer[] order = new Integer[count];
+        for (int i = 0; i < count; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (i, j) -> compare(j, strengths[i], masks[i]));
+        List<Hand> hands = new ArrayList<>(count);
+        for (int i : order) {
+            hands.add(new Hand(Card.fromMask(bestHand(masks[i]))));
+        }
+        return Collections.unmodifiableList(hands);
+    }
+
+    /**
+     * Find the 5 cards of a card mask with the highest strength.
+     */
+    private static long bestHand(long cardMask) {
+        if (Long.bitCount(cardMask) == Hand.HAND_SIZE) {
+            return cardMask;
+        }
+        long[] best = {0};
+        int[] bestStrength = {0};
+        CombineUtil.forEachCombination(cardMask, Hand.HAND_SIZE, hand -> {
+            int strength = EVALUATOR.evaluate(hand);
+            if (strength > bestStrength[0]) {
+                bestStrength[0] = strength;
+                best[0] = hand;
+            }
+        });
+        return best[0];
+    }
+
+    private void add(int strength, long cardMask) {
+        if (count < size) {
+            // Sift up.
+            int i = count++;
+            while (i > 0 && compare((i - 1) / 2, strength, cardMask) > 0) {
+                strengths[i] = strengths[(i - 1) / 2];
+                masks[i] = masks[(i - 1) / 2];
+                i = (i - 1) / 2;
+            }
+            strengths[i] = strength;
+            masks[i] = cardMask;
+        } else if (compare(0, strength, cardMask) < 0) {
+            // Replace the worst kept hand, and sift down.
+            int i = 0;
+            while (2 * i + 1 < count) {
+                int child = 2 * i + 1;
+                if (child + 1 < count && compare(child + 1, strengths[child], masks[child]) < 0) {
+                    child++;
+                }
+                if (compare(child, strength, cardMask) >= 0) {
+                    break;
+                }
+                strengths[i] = strengths[child];
+                masks[i] = masks[child];
+                i = child;
+            }
+            strengths[i] = strength;
+            masks[i] = cardMask;
+        }
+    }
+
+    /**
+     * Compare a kept hand to another hand.
+     *
+     * @return a negative number, zero, or a positive number if the kept hand is worse than, the same as, or better
+     * than the other hand
+     */
+    private int compare(int index, int strength, long cardMask) {
+        if (strengths[index] != strength) {
+            return Integer.compare(strengths[index], strength);
+        }
+        return Long.compare(cardMask, masks[index]);
+    }
+}
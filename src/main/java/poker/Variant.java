@@ -0,0 +1,70 @@
+package poker;
+
+import java.util.Arrays;
+
+import static poker.HandEvaluator.FLUSH;
+import static poker.HandEvaluator.FOUR_OF_A_KIND;
+import static poker.HandEvaluator.FULL_HOUSE;
+import static poker.HandEvaluator.HIGH_CARD;
+import static poker.HandEvaluator.ONE_PAIR;
+import static poker.HandEvaluator.STRAIGHT;
+import static poker.HandEvaluator.STRAIGHT_FLUSH;
+import static poker.HandEvaluator.THREE_OF_A_KIND;
+import static poker.HandEvaluator.TWO_PAIR;
+
+/**
+ * Rules of a poker variant: the face values in the deck, which determine the straights, and the order of the hand
+ * categories. Each variant has its own {@link HandEvaluator}, with lookup tables for its rules, created once and
+ * shared by every thread.
+ */
+public enum Variant {
+    /** Texas hold'em, with a standard 52 card deck. */
+    HOLDEM(FaceValue.values(),
+        HIGH_CARD, ONE_PAIR, TWO_PAIR, THREE_OF_A_KIND, STRAIGHT, FLUSH, FULL_HOUSE, FOUR_OF_A_KIND, STRAIGHT_FLUSH),
+
+    /**
+     * Short deck hold'em, with the deuces through fives removed for a 36 card deck. A flush is harder to make, so it
+     * beats a full house, and the ace plays low in the A-6-7-8-9 straight.
+     */
+    SHORT_DECK(Arrays.copyOfRange(FaceValue.values(), FaceValue.SIX.ordinal(), FaceValue.values().length),
+        HIGH_CARD, ONE_PAIR, TWO_PAIR, THREE_OF_A_KIND, STRAIGHT, FULL_HOUSE, FLUSH, FOUR_OF_A_KIND, STRAIGHT_FLUSH);
+
+    /** A mask of the cards in the deck. */
+    private final long deck;
+
+    /** The hand evaluator. */
+    private final HandEvaluator evaluator;
+
+    /**
+     * @param faceValues the face values in the deck, in increasing order
+     * @param categoryOrder the hand categories, in increasing order of value
+     */
+    Variant(FaceValue[] faceValues, int... categoryOrder) {
+        long deck = 0;
+        for (Suit suit : Suit.values()) {
+            for (FaceValue faceValue : faceValues) {
+                deck |= 1L << new Card(faceValue, suit).id();
+            }
+        }
+        this.deck = deck;
+        evaluator = new HandEvaluator(faceValues, categoryOrder);
+    }
+
+    /**
+     * Get the cards in this variant's deck.
+     *
+     * @return a mask of the cards
+     */
+    public long deck() {
+        return deck;
+    }
+
+    /**
+     * Get the hand evaluator for this variant's rules.
+     *
+     * @return the evaluator
+     */
+    HandEvaluator evaluator() {
+        return evaluator;
+    }
+}
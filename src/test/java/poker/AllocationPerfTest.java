@@ -0,0 +1,196 @@
+package poker;
+
+import org.junit.BeforeClass;
+import com.sun.management.HotSpotDiagnosticMXBean;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Allocation budgets and coarse throughput floors for the hot paths. Run with the perf profile:
+ * <pre>mvn test -Pperf</pre>
+ */
+public class AllocationPerfTest {
+
+    /** Measures the bytes allocated by the current thread. */
+    private static final com.sun.management.ThreadMXBean THREAD_MX_BEAN =
+        (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    /**
+     * Whether references are compressed. Without compressed references, e.g. in heaps over 32 GB, objects that
+     * hold references are larger, so the budgets of code that allocates objects depend on it.
+     */
+    private static final boolean COMPRESSED_OOPS = isCompressedOops();
+
+    /** The number of hands to run each measurement over. */
+    private static final int NUM_HANDS = 10000;
+
+    private static final String JSON_HAND = "[\"JH\", \"4C\", \"4S\", \"JC\", \"9H\"]";
+
+    /** 7 card masks to evaluate. */
+    private static final long[] CARD_MASKS = new long[NUM_HANDS];
+
+    /** 5 card hands to score with PokerHandRank. */
+    private static final Card[][] HANDS = new Card[NUM_HANDS][];
+
+    /** Keeps results alive, so measured work isn't optimized away. */
+    private static long sink;
+
+    @BeforeClass
+    public static void setUp() throws Exception {
+        Deck deck = new Deck(1);
+        for (int i = 0; i < NUM_HANDS; i++) {
+            deck.shuffle();
+            CARD_MASKS[i] = deck.deal(SevenCardTable.NUM_CARDS);
+            // Drop the lowest and highest of the 7 cards.
+            HANDS[i] = Card.fromMask(
+                CARD_MASKS[i] & ~Long.lowestOneBit(CARD_MASKS[i]) & ~Long.highestOneBit(CARD_MASKS[i]));
+        }
+    }
+
+    @Test
+    public void testHandEvaluator() throws Exception {
+        HandEvaluator evaluator = Variant.HOLDEM.evaluator();
+        assertAllocation("HandEvaluator.evaluate", 0, () -> {
+            for (long cardMask : CARD_MASKS) {
+                sink += evaluator.evaluate(cardMask);
+            }
+        });
+        assertThroughput("HandEvaluator.evaluate", 1000000, () -> {
+            for (long cardMask : CARD_MASKS) {
+                sink += evaluator.evaluate(cardMask);
+            }
+        });
+    }
+
+    @Test
+    public void testDeck() throws Exception {
+        Deck deck = new Deck(1);
+        assertAllocation("Deck.deal", 0, () -> {
+            for (int i = 0; i < NUM_HANDS; i++) {
+                deck.shuffle();
+                sink += deck.deal(9);
+            }
+        });
+        assertThroughput("Deck.deal", 1000000, () -> {
+            for (int i = 0; i < NUM_HANDS; i++) {
+                deck.shuffle();
+                sink += deck.deal(9);
+            }
+        });
+    }
+
+    @Test
+    public void testTopHands() throws Exception {
+        TopHands topHands = new TopHands(100);
+        assertAllocation("TopHands.add", 0, () -> {
+            for (long cardMask : CARD_MASKS) {
+                topHands.add(cardMask);
+            }
+        });
+    }
+
+    @Test
+    public void testCombinationRanks() throws Exception {
+        assertAllocation("CombineUtil.nextCombination", 0, () -> {
+            long combination = CombineUtil.unrank(0, Hand.HAND_SIZE);
+            for (int i = 0; i < NUM_HANDS; i++) {
+                sink += CombineUtil.rank(combination);
+                combination = CombineUtil.nextCombination(combination);
+            }
+        });
+        assertAllocation("SevenCardTable.index", 0, () -> {
+            for (long cardMask : CARD_MASKS) {
+                sink += SevenCardTable.index(cardMask);
+            }
+        });
+    }
+
+    @Test
+    public void testCombinations() throws Exception {
+        // C(16, 5) = 4368 combinations.
+        Card[] cards = Card.fromMask((1L << 16) - 1);
+        assertAllocation("CombineUtil.combinations", 1200 * 4368, () ->
+            sink += CombineUtil.combinations(Arrays.asList(cards), Hand.HAND_SIZE).count());
+    }
+
+    @Test
+    public void testHand() throws Exception {
+        assertAllocation("new Hand", (COMPRESSED_OOPS ? 7000L : 10300L) * NUM_HANDS, () -> {
+            for (Card[] hand : HANDS) {
+                sink += new Hand(hand.clone()).hashCode();
+            }
+        });
+        assertThroughput("new Hand", 10000, () -> {
+            for (Card[] hand : HANDS) {
+                sink += new Hand(hand.clone()).hashCode();
+            }
+        });
+    }
+
+    @Test
+    public void testJson() throws Exception {
+        assertAllocation("Hand.fromJsonArray", (COMPRESSED_OOPS ? 9200L : 13000L) * NUM_HANDS, () -> {
+            try {
+                for (int i = 0; i < NUM_HANDS; i++) {
+                    sink += Hand.fromJsonArray(JSON_HAND).hashCode();
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    private static boolean isCompressedOops() {
+        try {
+            return Boolean.parseBoolean(ManagementFactory.getPlatformMXBean(HotSpotDiagnosticMXBean.class)
+                .getVMOption("UseCompressedOops").getValue());
+        } catch (IllegalArgumentException e) {
+            // Not a HotSpot JVM; assume the larger, uncompressed references.
+            return false;
+        }
+    }
+
+    /**
+     * Assert that a task allocates no more than a budget. The task is warmed up first, so that it is measured after
+     * JIT compilation.
+     */
+    private static void assertAllocation(String name, long budget, Runnable task) {
+        for (int i = 0; i < 20; i++) {
+            task.run();
+        }
+        long threadId = Thread.currentThread().getId();
+        long overhead = THREAD_MX_BEAN.getThreadAllocatedBytes(threadId);
+        overhead = THREAD_MX_BEAN.getThreadAllocatedBytes(threadId) - overhead;
+        long allocated = Long.MAX_VALUE;
+        // Take the best of a few runs, to ignore allocation by anything else the JVM runs on this thread.
+        for (int i = 0; i < 3; i++) {
+            long before = THREAD_MX_BEAN.getThreadAllocatedBytes(threadId);
+            task.run();
+            allocated = Math.min(allocated, THREAD_MX_BEAN.getThreadAllocatedBytes(threadId) - before - overhead);
+        }
+        assertTrue(name + " allocated " + allocated + " bytes, budget is " + budget, allocated <= budget);
+    }
+
+    /**
+     * Assert that a task, run over NUM_HANDS items, processes at least a minimum number of items per second.
+     */
+    private static void assertThroughput(String name, long minPerSecond, Runnable task) {
+        for (int i = 0; i < 20; i++) {
+            task.run();
+        }
+        long bestNanos = Long.MAX_VALUE;
+        for (int i = 0; i < 5; i++) {
+            long start = System.nanoTime();
+            task.run();
+            bestNanos = Math.min(bestNanos, System.nanoTime() - start);
+        }
+        long perSecond = NUM_HANDS * 1000000000L / Math.max(1, bestNanos);
+        assertTrue(name + " ran " + perSecond + " per second, floor is " + minPerSecond, perSecond >= minPerSecond);
+    }
+}
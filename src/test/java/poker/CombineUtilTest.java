@@ -19,4 +19,34 @@ public class CombineUtilTest {
         assertEquals(Arrays.asList("a", "c"), combinations.get(1));
         assertEquals(Arrays.asList("b", "c"), combinations.get(2));
     }
+
+    @Test
+    public void binomial() throws Exception {
+        assertEquals(3, CombineUtil.binomial(3, 2));
+        assertEquals(1, CombineUtil.binomial(52, 0));
+        assertEquals(133784560, CombineUtil.binomial(52, 7));
+        assertEquals(0, CombineUtil.binomial(3, 4));
+        assertEquals(465428353255261088L, CombineUtil.binomial(62, 31));
+        assertEquals(916312070471295267L, CombineUtil.binomial(63, 31));
+    }
+
+    @Test(expected = ArithmeticException.class)
+    public void binomialOverflow() throws Exception {
+        CombineUtil.binomial(70, 35);
+    }
+
+    @Test
+    public void rank() throws Exception {
+        assertEquals(0, CombineUtil.rank(0b111));
+        assertEquals(1, CombineUtil.rank(0b1011));
+        assertEquals(CombineUtil.binomial(52, 7) - 1, CombineUtil.rank(0x7FL << 45));
+        long combination = 0b11111;
+        for (long rank = 0; rank < CombineUtil.binomial(12, 5); rank++) {
+            assertEquals(rank, CombineUtil.rank(combination));
+            assertEquals(combination, CombineUtil.unrank(rank, 5));
+            combination = CombineUtil.nextCombination(combination);
+        }
+        assertEquals(0x7FL << 45, CombineUtil.unrank(CombineUtil.binomial(52, 7) - 1, 7));
+        assertEquals(0, CombineUtil.nextCombination(0));
+    }
 }
\ No newline at end of file
@@ -0,0 +1,53 @@
+package poker;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class DeckTest {
+
+    @Test
+    public void testDealAll() throws Exception {
+        Deck deck = new Deck(1);
+        long cardMask = deck.deal(Card.DECK_SIZE);
+        assertEquals(Card.DECK_SIZE, Long.bitCount(cardMask));
+        assertEquals(0, deck.remaining());
+
+        deck.shuffle();
+        assertEquals(Card.DECK_SIZE, deck.remaining());
+    }
+
+    @Test
+    public void testDeadCards() throws Exception {
+        Deck deck = new Deck(1);
+        long deadCards = Card.mask(new Card("AH"), new Card("AS"), new Card("2C"));
+        deck.reset(deadCards);
+        assertEquals(Card.DECK_SIZE - 3, deck.remaining());
+        for (int i = 0; i < 100; i++) {
+            deck.shuffle();
+            long cardMask = deck.deal(7);
+            assertEquals(7, Long.bitCount(cardMask));
+            assertEquals(0, cardMask & deadCards);
+        }
+    }
+
+    @Test
+    public void testReproducible() throws Exception {
+        Deck deck1 = new Deck(42).split();
+        Deck deck2 = new Deck(42).split();
+        for (int i = 0; i < 100; i++) {
+            assertEquals(deck1.deal(), deck2.deal());
+            if (deck1.remaining() == 0) {
+                deck1.shuffle();
+                deck2.shuffle();
+            }
+        }
+        assertTrue(deck1.remaining() > 0);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testDealTooMany() throws Exception {
+        new Deck(1).deal(Card.DECK_SIZE + 1);
+    }
+}
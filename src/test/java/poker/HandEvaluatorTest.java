@@ -0,0 +1,51 @@
+package poker;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+
+import static org.junit.Assert.assertEquals;
+
+@RunWith(Parameterized.class)
+public class HandEvaluatorTest {
+
+    private static final HandEvaluator EVALUATOR = Variant.HOLDEM.evaluator();
+
+    @Parameterized.Parameters(name = "{index}: cards = {0}, rank = {1}")
+    public static Object[][] parameters() throws Exception {
+        return new Object[][] {
+            {"[\"3H\", \"7S\", \"3S\", \"3D\", \"AH\"]", PokerHandRank.THREE_OF_A_KIND},
+            {"[\"3H\", \"3C\", \"3S\", \"3D\", \"AH\"]", PokerHandRank.FOUR_OF_A_KIND},
+            {"[\"3H\", \"7S\", \"3S\", \"QD\", \"AH\"]", PokerHandRank.ONE_PAIR},
+            {"[\"3H\", \"7S\", \"3S\", \"AD\", \"AH\"]", PokerHandRank.TWO_PAIR},
+            {"[\"3H\", \"AS\", \"3S\", \"3D\", \"AH\"]", PokerHandRank.FULL_HOUSE},
+            {"[\"3H\", \"AS\", \"2S\", \"10D\", \"KC\"]", PokerHandRank.HIGH_CARD},
+            {"[\"3H\", \"7H\", \"2H\", \"JH\", \"AH\"]", PokerHandRank.FLUSH},
+            {"[\"3H\", \"2S\", \"4H\", \"5D\", \"6C\"]", PokerHandRank.STRAIGHT},
+            {"[\"3H\", \"2S\", \"4H\", \"5D\", \"AC\"]", PokerHandRank.STRAIGHT},
+            {"[\"3C\", \"2C\", \"4C\", \"5C\", \"6C\"]", PokerHandRank.STRAIGHT_FLUSH},
+            {"[\"KH\", \"AH\", \"QH\", \"JH\", \"10H\"]", PokerHandRank.ROYAL_FLUSH},
+            {"[\"3H\", \"7S\", \"3S\", \"QD\", \"AH\", \"3D\", \"4S\"]", PokerHandRank.THREE_OF_A_KIND},
+            {"[\"3H\", \"7H\", \"3S\", \"QH\", \"AH\", \"3D\", \"4H\"]", PokerHandRank.FLUSH},
+            {"[\"3H\", \"7S\", \"3S\", \"7D\", \"AH\", \"3D\", \"7H\"]", PokerHandRank.FULL_HOUSE},
+        };
+    }
+
+    @Parameterized.Parameter
+    public String cards;
+
+    @Parameterized.Parameter(1)
+    public PokerHandRank expectedRank;
+
+    @Test
+    public void testRankOf() throws Exception {
+        long cardMask = Card.mask(new ObjectMapper().readValue(cards, Card[].class));
+        assertEquals(expectedRank, EVALUATOR.rankOf(EVALUATOR.evaluate(cardMask)));
+    }
+
+    @Test
+    public void testNumStrengths() throws Exception {
+        assertEquals(7462, EVALUATOR.numStrengths());
+    }
+}
@@ -0,0 +1,55 @@
+package poker;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+public class OutsTest {
+
+    private static final long HOLE_CARDS = Card.mask(new Card("AH"), new Card("KH"));
+    private static final long BOARD = Card.mask(new Card("2H"), new Card("7H"), new Card("9C"));
+
+    @Test
+    public void testImprovingCards() throws Exception {
+        Outs outs = Outs.analyze(HOLE_CARDS, BOARD);
+        assertEquals(PokerHandRank.HIGH_CARD, outs.currentRank());
+        // Nine hearts for a flush, three aces and three kings for a pair.
+        assertEquals(15, Long.bitCount(outs.improvingCards()));
+        assertEquals(0, outs.winningCards());
+        assertEquals(PokerHandRank.FLUSH, outs.rankWith(new Card("3H")));
+        assertEquals(PokerHandRank.ONE_PAIR, outs.rankWith(new Card("AS")));
+        assertEquals(PokerHandRank.HIGH_CARD, outs.rankWith(new Card("3S")));
+        assertNull(outs.rankWith(new Card("2H")));
+    }
+
+    @Test
+    public void testWinningCards() throws Exception {
+        Outs outs = Outs.analyze(HOLE_CARDS, BOARD, Card.mask(new Card("QS"), new Card("QD")));
+        // The flush and a pair of aces or kings beat the queens; no card ties.
+        assertEquals(15, Long.bitCount(outs.winningCards()));
+        assertEquals(outs.improvingCards(), outs.winningCards());
+        assertEquals(0, outs.tyingCards());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testRiver() throws Exception {
+        Outs.analyze(HOLE_CARDS, BOARD | Card.mask(new Card("3C"), new Card("4C")));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testHoleCardsOnBoard() throws Exception {
+        Outs.analyze(Card.mask(new Card("AH"), new Card("2H")), BOARD);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testWrongNumberOfHoleCards() throws Exception {
+        Outs.analyze(Card.mask(new Card("AH"), new Card("KH"), new Card("QH")), BOARD);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testCardNotInDeck() throws Exception {
+        Outs.analyze(Variant.SHORT_DECK, Card.mask(new Card("2H"), new Card("3C")),
+            Card.mask(new Card("6H"), new Card("7S"), new Card("8D")));
+    }
+}
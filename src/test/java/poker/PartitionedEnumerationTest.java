@@ -0,0 +1,206 @@
+package poker;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Arrays;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class PartitionedEnumerationTest {
+
+    /** Counts the 5 card hands of each category. */
+    public static class CategoryJob implements PartitionedEnumeration.Job {
+        @Override
+        public int numElements() {
+            return Card.DECK_SIZE;
+        }
+
+        @Override
+        public int combinationSize() {
+            return Hand.HAND_SIZE;
+        }
+
+        @Override
+        public int resultSize() {
+            return HandEvaluator.STRAIGHT_FLUSH + 1;
+        }
+
+        @Override
+        public void accept(long combination, long[] result) {
+            HandEvaluator evaluator = Variant.HOLDEM.evaluator();
+            result[evaluator.category(evaluator.evaluate(combination))]++;
+        }
+    }
+
+    /** Counts the combinations of 3 from 10 elements. */
+    public static class CountJob implements PartitionedEnumeration.Job {
+        @Override
+        public int numElements() {
+            return 10;
+        }
+
+        @Override
+        public int combinationSize() {
+            return 3;
+        }
+
+        @Override
+        public int resultSize() {
+            return 1;
+        }
+
+        @Override
+        public void accept(long combination, long[] result) {
+            result[0]++;
+        }
+    }
+
+    /** Enumerates the empty combination, which is not supported. */
+    public static class EmptyJob extends CountJob {
+        @Override
+        public int combinationSize() {
+            return 0;
+        }
+    }
+
+    /** Enumerates combinations of more elements than a mask holds. */
+    public static class LargeJob extends CountJob {
+        @Override
+        public int numElements() {
+            return 64;
+        }
+    }
+
+    private static final long[] CATEGORY_COUNTS = {
+        1302540, 1098240, 123552, 54912, 10200, 5108, 3744, 624, 40
+    };
+
+    @Test
+    public void testWork() throws Exception {
+        Path directory = Files.createTempDirectory("enumeration");
+        try {
+            PartitionedEnumeration enumeration =
+                PartitionedEnumeration.create(directory, CategoryJob.class, 16);
+            assertFalse(enumeration.isComplete());
+            enumeration.work(2);
+            assertTrue(enumeration.isComplete());
+            assertArrayEquals(CATEGORY_COUNTS, PartitionedEnumeration.open(directory).merge());
+        } finally {
+            delete(directory);
+        }
+    }
+
+    @Test
+    public void testResume() throws Exception {
+        Path directory = Files.createTempDirectory("enumeration");
+        try {
+            PartitionedEnumeration.create(directory, CountJob.class, 7).work(1);
+            // Lose two checkpoints, as if the workers processing them had died.
+            Files.delete(directory.resolve("chunk-2.result"));
+            Files.delete(directory.resolve("chunk-5.result"));
+            PartitionedEnumeration enumeration = PartitionedEnumeration.create(directory, CountJob.class, 7);
+            assertFalse(enumeration.isComplete());
+            enumeration.work(1);
+            assertEquals(120, enumeration.merge()[0]);
+        } finally {
+            delete(directory);
+        }
+    }
+
+    @Test
+    public void testResumeAfterCrash() throws Exception {
+        Path directory = Files.createTempDirectory("enumeration");
+        try {
+            PartitionedEnumeration enumeration = PartitionedEnumeration.create(directory, CountJob.class, 3);
+            // A worker died while processing a chunk, and its lock will be stale in a couple of seconds.
+            Path lockFile = Files.createFile(directory.resolve("chunk-1.lock"));
+            Files.setLastModifiedTime(lockFile, FileTime.fromMillis(
+                System.currentTimeMillis() - PartitionedEnumeration.STALE_LOCK_MILLIS + 2000));
+            enumeration.work(1);
+            assertTrue(enumeration.isComplete());
+            assertEquals(120, enumeration.merge()[0]);
+        } finally {
+            delete(directory);
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testCreateOtherJob() throws Exception {
+        Path directory = Files.createTempDirectory("enumeration");
+        try {
+            PartitionedEnumeration.create(directory, CountJob.class, 5);
+            PartitionedEnumeration.create(directory, CategoryJob.class, 5);
+        } finally {
+            delete(directory);
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testCreateOtherNumChunks() throws Exception {
+        Path directory = Files.createTempDirectory("enumeration");
+        try {
+            PartitionedEnumeration.create(directory, CountJob.class, 5);
+            PartitionedEnumeration.create(directory, CountJob.class, 6);
+        } finally {
+            delete(directory);
+        }
+    }
+
+    @Test
+    public void testRunLocal() throws Exception {
+        Path directory = Files.createTempDirectory("enumeration");
+        try {
+            PartitionedEnumeration enumeration = PartitionedEnumeration.create(directory, CountJob.class, 5);
+            enumeration.runLocal(2, 1);
+            assertEquals(120, enumeration.merge()[0]);
+        } finally {
+            delete(directory);
+        }
+    }
+
+    @Test(expected = IOException.class)
+    public void testMergeIncomplete() throws Exception {
+        Path directory = Files.createTempDirectory("enumeration");
+        try {
+            PartitionedEnumeration.create(directory, CountJob.class, 5).merge();
+        } finally {
+            delete(directory);
+        }
+    }
+
+    @Test
+    public void testCreateInvalidJob() throws Exception {
+        Path directory = Files.createTempDirectory("enumeration");
+        try {
+            for (Class<? extends PartitionedEnumeration.Job> jobClass : Arrays.asList(EmptyJob.class, LargeJob.class)) {
+                try {
+                    PartitionedEnumeration.create(directory, jobClass, 5);
+                    fail("Created " + jobClass.getSimpleName());
+                } catch (IllegalArgumentException expected) {
+                    // The job is rejected before the directory is written.
+                    assertFalse(Files.exists(directory.resolve("job.properties")));
+                }
+            }
+        } finally {
+            delete(directory);
+        }
+    }
+
+    private static void delete(Path directory) throws IOException {
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory)) {
+            for (Path file : files) {
+                Files.delete(file);
+            }
+        }
+        Files.delete(directory);
+    }
+}
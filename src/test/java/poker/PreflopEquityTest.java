@@ -0,0 +1,76 @@
+package poker;
+
+import org.junit.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+public class PreflopEquityTest {
+
+    private static final HandEvaluator EVALUATOR = Variant.HOLDEM.evaluator();
+
+    private static final int ACES = StartingHand.index(Card.mask(new Card("AH"), new Card("AS")));
+    private static final int KINGS = StartingHand.index(Card.mask(new Card("KH"), new Card("KS")));
+
+    @Test
+    public void testComputeEquity() throws Exception {
+        double[] equities = PreflopEquity.computeEquity(EVALUATOR::evaluate,
+            Card.mask(new Card("AH"), new Card("AS")), Card.mask(new Card("KC"), new Card("KD")));
+        assertEquals(0.8126, equities[0], 0.001);
+        assertEquals(1, equities[0] + equities[1], 1e-9);
+    }
+
+    @Test
+    public void testStartingHandEquity() throws Exception {
+        assertEquals(0.82, PreflopEquity.startingHandEquity(EVALUATOR::evaluate, ACES, KINGS), 0.005);
+        assertEquals(0.5, PreflopEquity.startingHandEquity(EVALUATOR::evaluate, KINGS, KINGS), 1e-9);
+    }
+
+    @Test
+    public void testGenerate() throws Exception {
+        PreflopEquity preflopEquity = PreflopEquity.generate(EVALUATOR::evaluate, KINGS, ACES);
+        assertEquals(0.82, preflopEquity.equity(ACES, KINGS), 0.005);
+        assertEquals(1, preflopEquity.equity(ACES, KINGS) + preflopEquity.equity(KINGS, ACES), 1e-6);
+        assertEquals(0.5, preflopEquity.equity(ACES, ACES), 1e-6);
+        assertEquals(0.5, preflopEquity.equity(KINGS, KINGS), 1e-6);
+    }
+
+    @Test
+    public void testEquity() throws Exception {
+        float[] equities = new float[StartingHand.COUNT * StartingHand.COUNT];
+        equities[ACES * StartingHand.COUNT + KINGS] = 0.82f;
+        PreflopEquity preflopEquity = new PreflopEquity(equities);
+        // Any hole cards of the starting hands are looked up in the table.
+        assertEquals(0.82, preflopEquity.startingHandEquity(Card.mask(new Card("AH"), new Card("AC")),
+            Card.mask(new Card("KH"), new Card("KC"))), 1e-6);
+        // Specific hole cards are always computed, even heads-up.
+        double[] specific = preflopEquity.equity(Card.mask(new Card("AH"), new Card("KH")),
+            Card.mask(new Card("QH"), new Card("JH")));
+        assertEquals(1, specific[0] + specific[1], 1e-9);
+        assertEquals(0.6595, specific[0], 0.001);
+        double[] multiway = preflopEquity.equity(Card.mask(new Card("AH"), new Card("AC")),
+            Card.mask(new Card("KH"), new Card("KC")), Card.mask(new Card("7D"), new Card("2H")));
+        assertEquals(1, multiway[0] + multiway[1] + multiway[2], 1e-9);
+    }
+
+    @Test
+    public void testSaveAndLoad() throws Exception {
+        float[] equities = new float[StartingHand.COUNT * StartingHand.COUNT];
+        equities[ACES * StartingHand.COUNT + KINGS] = 0.82f;
+        equities[KINGS * StartingHand.COUNT + ACES] = 0.18f;
+        Path file = Files.createTempFile("preflop", ".eq");
+        try {
+            new PreflopEquity(equities).save(file);
+            PreflopEquity loaded = PreflopEquity.load(file);
+            assertEquals(0.82, loaded.equity(ACES, KINGS), 1e-6);
+            assertEquals(0.18, loaded.equity(KINGS, ACES), 1e-6);
+            // The file exists, so it is loaded rather than generated.
+            assertEquals(0.82, PreflopEquity.loadOrGenerate(file).equity(ACES, KINGS), 1e-6);
+        } finally {
+            Files.delete(file);
+        }
+    }
+}
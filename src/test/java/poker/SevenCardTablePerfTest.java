@@ -0,0 +1,42 @@
+package poker;
+
+import org.junit.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Generates a full seven card table, which takes seconds and a few hundred MB of disk. Run with the perf profile:
+ * <pre>mvn test -Pperf</pre>
+ */
+public class SevenCardTablePerfTest {
+
+    /** The number of random sets to check against the evaluator. */
+    private static final int NUM_HANDS = 1000000;
+
+    @Test
+    public void testGenerateAndLoad() throws Exception {
+        HandEvaluator evaluator = Variant.HOLDEM.evaluator();
+        Path directory = Files.createTempDirectory("seven");
+        Path file = directory.resolve("seven.table");
+        try {
+            SevenCardTable table = SevenCardTable.loadOrGenerate(file);
+            // Only the table file is left behind.
+            assertEquals(1, directory.toFile().list().length);
+            assertEquals(evaluator.evaluate(0x7FL), table.strength(0));
+            long last = 0x7FL << (Card.DECK_SIZE - SevenCardTable.NUM_CARDS);
+            assertEquals(evaluator.evaluate(last), table.strength(SevenCardTable.SIZE - 1));
+            Deck deck = new Deck(1);
+            for (int i = 0; i < NUM_HANDS; i++) {
+                deck.shuffle();
+                long cardMask = deck.deal(SevenCardTable.NUM_CARDS);
+                assertEquals(evaluator.evaluate(cardMask), table.strength(cardMask));
+            }
+        } finally {
+            Files.deleteIfExists(file);
+            Files.delete(directory);
+        }
+    }
+}
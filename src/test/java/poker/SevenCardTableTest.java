@@ -0,0 +1,57 @@
+package poker;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.Assert.assertEquals;
+
+public class SevenCardTableTest {
+
+    @Test
+    public void testIndex() throws Exception {
+        assertEquals(0, SevenCardTable.index(0x7FL));
+        assertEquals(1, SevenCardTable.index(0xBFL));
+        assertEquals(SevenCardTable.SIZE - 1, SevenCardTable.index(0x7FL << (Card.DECK_SIZE - 7)));
+    }
+
+    @Test
+    public void testIndexIsDense() throws Exception {
+        // Walk every 7 card set from the first 9 cards in increasing order; each should have the next index.
+        int expected = 0;
+        for (long cardMask = 0; cardMask < 1 << 9; cardMask++) {
+            if (Long.bitCount(cardMask) == SevenCardTable.NUM_CARDS) {
+                assertEquals(expected++, SevenCardTable.index(cardMask));
+            }
+        }
+        assertEquals(CombineUtil.binomial(9, 7), expected);
+    }
+
+    @Test(expected = IOException.class)
+    public void testLoadWrongSize() throws Exception {
+        Path file = Files.createTempFile("seven", ".table");
+        try {
+            Files.write(file, new byte[]{1, 2, 3});
+            SevenCardTable.load(file);
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test(expected = IOException.class)
+    public void testLoadWrongHeader() throws Exception {
+        Path file = Files.createTempFile("seven", ".table");
+        try {
+            // A file of the right size, but no header.
+            try (RandomAccessFile out = new RandomAccessFile(file.toFile(), "rw")) {
+                out.setLength(SevenCardTable.FILE_SIZE);
+            }
+            SevenCardTable.load(file);
+        } finally {
+            Files.delete(file);
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package poker;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class StartingHandTest {
+
+    @Test
+    public void testHoleCards() throws Exception {
+        int numHoleCards = 0;
+        for (int index = 0; index < StartingHand.COUNT; index++) {
+            for (long holeCards : StartingHand.holeCards(index)) {
+                assertEquals(2, Long.bitCount(holeCards));
+                assertEquals(index, StartingHand.index(holeCards));
+                numHoleCards++;
+            }
+        }
+        assertEquals(CombineUtil.binomial(Card.DECK_SIZE, 2), numHoleCards);
+    }
+
+    @Test
+    public void testName() throws Exception {
+        assertEquals("AKs", StartingHand.name(StartingHand.index(Card.mask(new Card("AH"), new Card("KH")))));
+        assertEquals("AKo", StartingHand.name(StartingHand.index(Card.mask(new Card("AH"), new Card("KS")))));
+        assertEquals("99", StartingHand.name(StartingHand.index(Card.mask(new Card("9C"), new Card("9D")))));
+    }
+}
@@ -0,0 +1,71 @@
+package poker;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static org.junit.Assert.assertEquals;
+
+public class TopHandsTest {
+
+    private static final long[] HANDS = {
+        Card.mask(new Card("JH"), new Card("4C"), new Card("4S"), new Card("JC"), new Card("JD")),
+        Card.mask(new Card("JH"), new Card("4C"), new Card("3S"), new Card("JC"), new Card("9H")),
+        Card.mask(new Card("JH"), new Card("4C"), new Card("5S"), new Card("JC"), new Card("JD")),
+        Card.mask(new Card("3C"), new Card("2C"), new Card("4C"), new Card("5C"), new Card("6C")),
+        Card.mask(new Card("3H"), new Card("AS"), new Card("2S"), new Card("10D"), new Card("KC")),
+    };
+
+    @Test
+    public void testOf() throws Exception {
+        List<Hand> hands = TopHands.of(LongStream.of(HANDS), 3);
+        assertEquals(Arrays.asList(new Hand(Card.fromMask(HANDS[3])), new Hand(Card.fromMask(HANDS[0])),
+            new Hand(Card.fromMask(HANDS[2]))), hands);
+    }
+
+    @Test
+    public void testCollector() throws Exception {
+        List<Hand> hands = Arrays.stream(HANDS).boxed().collect(TopHands.collector(1));
+        assertEquals(Arrays.asList(new Hand(Card.fromMask(HANDS[3]))), hands);
+    }
+
+    @Test
+    public void testParallelMatchesSequential() throws Exception {
+        Deck deck = new Deck(7);
+        long[] cardMasks = new long[10000];
+        for (int i = 0; i < cardMasks.length; i++) {
+            deck.shuffle();
+            cardMasks[i] = deck.deal(Hand.HAND_SIZE);
+        }
+        List<Hand> sequential = TopHands.of(LongStream.of(cardMasks), 20);
+        List<Hand> parallel = TopHands.of(LongStream.of(cardMasks).parallel(), 20);
+        assertEquals(20, sequential.size());
+        assertEquals(sequential, parallel);
+
+        HandEvaluator evaluator = Variant.HOLDEM.evaluator();
+        List<Long> sorted = Arrays.stream(cardMasks).boxed()
+            .sorted((a, b) -> evaluator.evaluate(b) != evaluator.evaluate(a)
+                ? evaluator.evaluate(b) - evaluator.evaluate(a) : Long.compare(a, b))
+            .limit(20).collect(Collectors.toList());
+        assertEquals(new Hand(Card.fromMask(sorted.get(19))), sequential.get(19));
+    }
+
+    @Test
+    public void testSevenCardHands() throws Exception {
+        // A wheel straight, which the ranks of Hand alone score as ace high, and a pair of kings.
+        long wheel = Card.mask(new Card("AH"), new Card("2S"), new Card("3D"), new Card("4C"), new Card("5H"),
+            new Card("KS"), new Card("QD"));
+        long kings = Card.mask(new Card("KH"), new Card("KC"), new Card("9D"), new Card("7C"), new Card("6H"),
+            new Card("3S"), new Card("2D"));
+        List<Hand> hands = TopHands.of(LongStream.of(kings, wheel), 2);
+        assertEquals(Arrays.asList(
+            new Hand(Card.fromMask(Card.mask(new Card("AH"), new Card("2S"), new Card("3D"), new Card("4C"),
+                new Card("5H")))),
+            new Hand(Card.fromMask(Card.mask(new Card("KH"), new Card("KC"), new Card("9D"), new Card("7C"),
+                new Card("6H"))))),
+            hands);
+    }
+}
@@ -0,0 +1,67 @@
+package poker;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class VariantTest {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    @Test
+    public void testDeck() throws Exception {
+        assertEquals(Card.DECK_SIZE, Long.bitCount(Variant.HOLDEM.deck()));
+        assertEquals(36, Long.bitCount(Variant.SHORT_DECK.deck()));
+        assertEquals(0, Variant.SHORT_DECK.deck() & mask("[\"2H\", \"3C\", \"4S\", \"5D\"]"));
+    }
+
+    @Test
+    public void testFlushBeatsFullHouse() throws Exception {
+        long flush = mask("[\"6H\", \"8H\", \"10H\", \"QH\", \"AH\"]");
+        long fullHouse = mask("[\"KH\", \"KS\", \"KD\", \"QC\", \"QD\"]");
+        assertTrue(strength(Variant.HOLDEM, fullHouse) > strength(Variant.HOLDEM, flush));
+        assertTrue(strength(Variant.SHORT_DECK, flush) > strength(Variant.SHORT_DECK, fullHouse));
+    }
+
+    @Test
+    public void testCategoryValues() throws Exception {
+        HandEvaluator holdem = Variant.HOLDEM.evaluator();
+        HandEvaluator shortDeck = Variant.SHORT_DECK.evaluator();
+        assertTrue(holdem.categoryValue(HandEvaluator.FULL_HOUSE) > holdem.categoryValue(HandEvaluator.FLUSH));
+        assertTrue(shortDeck.categoryValue(HandEvaluator.FLUSH) > shortDeck.categoryValue(HandEvaluator.FULL_HOUSE));
+        assertTrue(shortDeck.categoryValue(HandEvaluator.FULL_HOUSE) > shortDeck.categoryValue(HandEvaluator.STRAIGHT));
+    }
+
+    @Test
+    public void testStraights() throws Exception {
+        HandEvaluator evaluator = Variant.SHORT_DECK.evaluator();
+        long wheel = mask("[\"AH\", \"6S\", \"7D\", \"8C\", \"9H\"]");
+        assertEquals(PokerHandRank.STRAIGHT, evaluator.rankOf(evaluator.evaluate(wheel)));
+        assertTrue(evaluator.evaluate(wheel) < evaluator.evaluate(mask("[\"6H\", \"7S\", \"8D\", \"9C\", \"10H\"]")));
+        assertEquals(PokerHandRank.STRAIGHT_FLUSH,
+            evaluator.rankOf(evaluator.evaluate(mask("[\"AH\", \"6H\", \"7H\", \"8H\", \"9H\"]"))));
+    }
+
+    @Test
+    public void testShortDeckCategories() throws Exception {
+        HandEvaluator evaluator = Variant.SHORT_DECK.evaluator();
+        long[] counts = new long[HandEvaluator.STRAIGHT_FLUSH + 1];
+        CombineUtil.forEachCombination(Variant.SHORT_DECK.deck(), Hand.HAND_SIZE,
+            hand -> counts[evaluator.category(evaluator.evaluate(hand))]++);
+        assertEquals(24, counts[HandEvaluator.STRAIGHT_FLUSH]);
+        assertEquals(288, counts[HandEvaluator.FOUR_OF_A_KIND]);
+        assertEquals(480, counts[HandEvaluator.FLUSH]);
+        assertEquals(1728, counts[HandEvaluator.FULL_HOUSE]);
+        assertEquals(6120, counts[HandEvaluator.STRAIGHT]);
+    }
+
+    private static long mask(String cards) throws Exception {
+        return Card.mask(OBJECT_MAPPER.readValue(cards, Card[].class));
+    }
+
+    private static int strength(Variant variant, long cardMask) {
+        return variant.evaluator().evaluate(cardMask);
+    }
+}